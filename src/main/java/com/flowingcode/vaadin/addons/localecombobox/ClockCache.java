@@ -0,0 +1,119 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * A concurrent map with a maximum number of entries. When the maximum is exceeded, entries are
+ * evicted in approximately least-recently-used order, with the same second-chance (clock)
+ * algorithm as {@link LocaleDisplayNameCache}: entries are visited in insertion order, and an
+ * entry that was read since it was last visited is moved to the back of the queue instead of being
+ * evicted. Reading an entry is thus a lock-free map lookup and a flag write.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+final class ClockCache<K, V> {
+
+  private static final class Entry<V> {
+
+    final V value;
+
+    /** Whether the entry was read since the eviction last visited it. */
+    volatile boolean referenced;
+
+    Entry(V value) {
+      this.value = value;
+    }
+  }
+
+  private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+  /** The keys of the entries, in the order in which the eviction visits them. */
+  private final Queue<K> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  private final int maximumSize;
+
+  /**
+   * Creates an empty cache.
+   *
+   * @param maximumSize the maximum number of entries
+   * @throws IllegalArgumentException if {@code maximumSize} is not positive
+   */
+  ClockCache(int maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the value of a key, computing it if the key is not cached. As with
+   * {@link ConcurrentHashMap#computeIfAbsent}, the value of a key is computed at most once while
+   * it is cached, and the mapping function must not update this cache.
+   */
+  V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Entry<V> entry = entries.get(key);
+    if (entry != null) {
+      if (!entry.referenced) {
+        entry.referenced = true;
+      }
+      return entry.value;
+    }
+
+    boolean[] added = new boolean[1];
+    entry = entries.computeIfAbsent(key, k -> {
+      added[0] = true;
+      return new Entry<>(mappingFunction.apply(k));
+    });
+    if (added[0]) {
+      insertionOrder.add(key);
+      evict();
+    }
+    return entry.value;
+  }
+
+  /** Returns the number of entries currently held in the cache. */
+  int size() {
+    return entries.size();
+  }
+
+  private void evict() {
+    while (entries.size() > maximumSize) {
+      K eldest = insertionOrder.poll();
+      if (eldest == null) {
+        return;
+      }
+      Entry<V> entry = entries.get(eldest);
+      if (entry != null && entry.referenced) {
+        // second chance: the entry was read since it was last visited
+        entry.referenced = false;
+        insertionOrder.add(eldest);
+      } else {
+        entries.remove(eldest);
+      }
+    }
+  }
+}
@@ -0,0 +1,259 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Generates a stylesheet that contains only the flag icons of a given set of countries.
+ *
+ * <p>By default, {@link LocaleComboBox} imports {@value #STYLESHEET}, which imports the whole
+ * {@code flag-icons} stylesheet (every flag, in both the 4x3 and 1x1 aspect ratios). Since add-on
+ * frontend resources can be overridden by a file with the same path in the application's frontend
+ * folder, writing the output of this generator to
+ * {@code src/main/frontend/styles/locale-combo-box-flags.css} makes the component use the smaller
+ * sheet instead.
+ *
+ * <p>The generated stylesheet embeds the SVG files of the selected flags as data URIs, so it has no
+ * dependencies on the location of {@code node_modules}. The flag for unknown countries ({@code un})
+ * is always included.
+ *
+ * <p>The generator reads the flags from an installed {@code flag-icons} package, so it must run
+ * after {@code node_modules} has been created (e.g. by {@code npm install} or a first build of the
+ * application). The generated file is meant to be committed with the application sources and
+ * regenerated only when the set of countries changes:
+ *
+ * <pre>
+ * java FlagCssGenerator --flags node_modules/flag-icons/flags --ratio 4x3 \
+ *     --countries AR,BR,US --locales es-UY,pt-PT \
+ *     --output src/main/frontend/styles/locale-combo-box-flags.css
+ * </pre>
+ */
+public final class FlagCssGenerator {
+
+  /** The frontend path of the stylesheet imported by {@link LocaleComboBox} for the flag icons. */
+  public static final String STYLESHEET = "./styles/locale-combo-box-flags.css";
+
+  /** The aspect ratios provided by {@code flag-icons}. */
+  public enum AspectRatio {
+    /** Rectangular flags, with a 4:3 aspect ratio. */
+    RATIO_4X3("4x3", "1.333333em"),
+    /** Square flags. */
+    RATIO_1X1("1x1", "1em");
+
+    private final String directory;
+
+    private final String width;
+
+    AspectRatio(String directory, String width) {
+      this.directory = directory;
+      this.width = width;
+    }
+
+    /**
+     * Returns the aspect ratio with the given name.
+     *
+     * @param name the name of the aspect ratio, i.e. {@code "4x3"} or {@code "1x1"}
+     * @return the aspect ratio
+     * @throws IllegalArgumentException if there is no aspect ratio with the given name
+     */
+    public static AspectRatio of(String name) {
+      return Arrays.stream(values()).filter(ratio -> ratio.directory.equals(name)).findFirst()
+          .orElseThrow(() -> new IllegalArgumentException("Unknown aspect ratio: " + name));
+    }
+  }
+
+  private static final String DEFAULT_FLAG_CODE = "un";
+
+  private static final String UNSAFE_CHARACTERS = "\"%#<>{}|\\^`";
+
+  private final Path flagsDirectory;
+
+  private final AspectRatio ratio;
+
+  private final SortedSet<String> flagCodes = new TreeSet<>();
+
+  /**
+   * Creates a new generator.
+   *
+   * @param flagsDirectory the {@code flags} directory of the {@code flag-icons} package (e.g.
+   *     {@code node_modules/flag-icons/flags})
+   * @param ratio the aspect ratio of the generated flags
+   */
+  public FlagCssGenerator(Path flagsDirectory, AspectRatio ratio) {
+    this.flagsDirectory = flagsDirectory;
+    this.ratio = ratio;
+    flagCodes.add(DEFAULT_FLAG_CODE);
+  }
+
+  /**
+   * Includes the flags of the given countries.
+   *
+   * @param countryCodes country codes in any of the formats accepted by
+   *     {@link LocaleCountryConverter#convertToISO3166Code(String)}
+   * @return this generator
+   * @throws IllegalArgumentException if a country code is not known
+   */
+  public FlagCssGenerator addCountries(Collection<String> countryCodes) {
+    for (String countryCode : countryCodes) {
+      String flagCode = LocaleCountryConverter.convertToFlagCode(countryCode);
+      if (flagCode == null) {
+        throw new IllegalArgumentException("Unknown country code: " + countryCode);
+      }
+      flagCodes.add(flagCode);
+    }
+    return this;
+  }
+
+  /**
+   * Includes the flags of the countries of the given locales. Locales without a known country are
+   * displayed with the default flag, which is always included.
+   *
+   * @param locales the locales
+   * @return this generator
+   */
+  public FlagCssGenerator addLocales(Collection<Locale> locales) {
+    for (Locale locale : locales) {
+      String flagCode = LocaleCountryConverter.convertToFlagCode(locale.getCountry());
+      if (flagCode != null) {
+        flagCodes.add(flagCode);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Writes the stylesheet.
+   *
+   * @param out the writer where the stylesheet is written
+   * @throws IOException if a flag file cannot be read, or the stylesheet cannot be written
+   * @throws NoSuchFileException if the flags directory does not exist
+   */
+  public void write(Writer out) throws IOException {
+    Path directory = flagsDirectory.resolve(ratio.directory);
+    if (!Files.isDirectory(directory)) {
+      throw new NoSuchFileException(directory.toString(), null,
+          "flags directory not found, is the flag-icons package installed?");
+    }
+    out.write("/* Generated by " + FlagCssGenerator.class.getName() + ". Do not edit. */\n");
+    out.write(".fi{background-size:contain;background-position:50%;background-repeat:no-repeat;"
+        + "position:relative;display:inline-block;width:" + ratio.width + ";line-height:1em}\n");
+    out.write(".fi:before{content:\" \"}\n");
+    for (String flagCode : flagCodes) {
+      Path svg = directory.resolve(flagCode + ".svg");
+      String content = Files.readString(svg, StandardCharsets.UTF_8);
+      out.write(".fi-" + flagCode + "{background-image:url(\"data:image/svg+xml,"
+          + encode(content) + "\")}\n");
+    }
+  }
+
+  /** Percent-encodes the characters that are not safe in a quoted CSS data URI. */
+  private static String encode(String svg) {
+    StringBuilder sb = new StringBuilder(svg.length());
+    for (byte b : svg.trim().getBytes(StandardCharsets.UTF_8)) {
+      int c = b & 0xff;
+      if (c == '\n' || c == '\r' || c == '\t') {
+        sb.append(' ');
+      } else if (c >= ' ' && c < 0x7f && UNSAFE_CHARACTERS.indexOf(c) < 0) {
+        sb.append((char) c);
+      } else {
+        sb.append('%');
+        sb.append(Character.forDigit(c >> 4, 16));
+        sb.append(Character.forDigit(c & 0xf, 16));
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Command line entry point.
+   *
+   * <p>Options: {@code --flags <dir>} (required), {@code --output <file>} (required),
+   * {@code --ratio 4x3|1x1} (default 4x3), {@code --countries <code,...>} and
+   * {@code --locales <language-tag,...>}.
+   *
+   * @param args the command line arguments
+   * @throws IOException if the stylesheet cannot be generated
+   */
+  public static void main(String[] args) throws IOException {
+    Path flags = null;
+    Path output = null;
+    AspectRatio ratio = AspectRatio.RATIO_4X3;
+    List<String> countries = new ArrayList<>();
+    List<Locale> locales = new ArrayList<>();
+
+    for (int i = 0; i < args.length; i++) {
+      String option = args[i];
+      if (i + 1 == args.length) {
+        throw new IllegalArgumentException("Missing value for " + option);
+      }
+      String value = args[++i];
+      switch (option) {
+        case "--flags":
+          flags = Paths.get(value);
+          break;
+        case "--output":
+          output = Paths.get(value);
+          break;
+        case "--ratio":
+          ratio = AspectRatio.of(value);
+          break;
+        case "--countries":
+          countries.addAll(split(value));
+          break;
+        case "--locales":
+          split(value).stream().map(Locale::forLanguageTag).forEach(locales::add);
+          break;
+        default:
+          throw new IllegalArgumentException("Unknown option: " + option);
+      }
+    }
+
+    if (flags == null || output == null) {
+      throw new IllegalArgumentException("Both --flags and --output are required");
+    }
+
+    FlagCssGenerator generator =
+        new FlagCssGenerator(flags, ratio).addCountries(countries).addLocales(locales);
+    if (output.getParent() != null) {
+      Files.createDirectories(output.getParent());
+    }
+    try (Writer out = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+      generator.write(out);
+    }
+  }
+
+  private static List<String> split(String value) {
+    return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+  }
+}
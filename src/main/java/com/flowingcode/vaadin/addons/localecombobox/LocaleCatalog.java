@@ -0,0 +1,520 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.lang.ref.WeakReference;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Immutable list of locales that can be shared by reference between {@link LocaleComboBox}
+ * instances.
+ *
+ * <p>A catalog is intended to be built once (e.g. at application startup) and kept in an
+ * application-scoped field. Components created with a catalog hold only a reference to it,
+ * instead of a copy of the item list, and share the search keys and prefix indexes computed
+ * for each display locale.
+ *
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * static final LocaleCatalog LOCALES = LocaleCatalog.of(List.of(Locale.US, Locale.ITALY));
+ * ...
+ * LocaleComboBox combo = new LocaleComboBox(LOCALES);
+ * </pre>
+ *
+ * <p>Catalogs are serialized by reference where possible, so that deserialized components point
+ * to the same shared instance as the rest of the application. A catalog returned by
+ * {@link #ofAvailableLocales(AvailableLocalesFilter...)} is written as its filters and display
+ * locale, and resolved to the catalog returned by that method in the deserializing JVM. Other
+ * catalogs are written as the language tags of their locales, and resolved to a live catalog
+ * with the same locales if there is one. The search keys and prefix indexes are rebuilt on demand
+ * after deserialization.
+ */
+@SuppressWarnings("serial")
+public final class LocaleCatalog implements Serializable {
+
+  private record IndexKey(Locale displayLocale, FilterMode filterMode) {}
+
+  private record AvailableKey(Set<AvailableLocalesFilter> filters, Locale displayLocale)
+      implements Serializable {}
+
+  /**
+   * The serialized form of a catalog: either the key of a shared catalog with the available
+   * locales (or of its {@linkplain #sortedByNativeName() native order}), or the locales of any
+   * other catalog.
+   */
+  private record SerializedCatalog(AvailableKey availableKey, boolean nativeOrder,
+      List<Locale> locales) implements Serializable {
+
+    private LocaleCatalog resolve() {
+      if (availableKey == null) {
+        return intern(new LocaleCatalog(locales));
+      }
+      LocaleCatalog catalog =
+          availableCatalogs.computeIfAbsent(availableKey, LocaleCatalog::createAvailableLocales);
+      return nativeOrder ? catalog.sortedByNativeName() : catalog;
+    }
+
+    private Object readResolve() {
+      return resolve();
+    }
+  }
+
+  /** The serialized form of the locale list of a shared catalog with the available locales. */
+  private record SerializedLocaleList(LocaleCatalog catalog) implements Serializable {
+
+    private Object readResolve() {
+      return catalog.locales;
+    }
+  }
+
+  /**
+   * Filters that can be applied to the {@linkplain #ofAvailableLocales(AvailableLocalesFilter...)
+   * available locales}.
+   */
+  public enum AvailableLocalesFilter {
+
+    /** Only the locales with a country (e.g. {@code es_AR}, but not {@code es}) are included. */
+    HAS_COUNTRY,
+
+    /** Only the locales whose name is not blank (i.e. all but the root locale) are included. */
+    HAS_NAME;
+  }
+
+  private static final int MATCH_CACHE_SIZE = 256;
+
+  /**
+   * The maximum number of (display locale, filter mode) pairs for which the search keys and the
+   * indexes of a catalog are kept.
+   */
+  private static final int INDEX_CACHE_SIZE = 64;
+
+  /** Separates the names in a multilingual search key, it never occurs in a filter text. */
+  private static final String KEY_SEPARATOR = "\0";
+
+  private static final Map<AvailableKey, LocaleCatalog> availableCatalogs =
+      new ConcurrentHashMap<>();
+
+  /**
+   * The live catalogs that deserialized catalogs are resolved to, by locale list. The lists are
+   * weakly referenced, so that the entry of a catalog goes away with it.
+   */
+  private static final Map<List<Locale>, WeakReference<LocaleCatalog>> internedCatalogs =
+      new WeakHashMap<>();
+
+  /**
+   * Unmodifiable list of locales that is serialized as language tags instead of {@code Locale}
+   * objects. Locales that don't survive a round trip through their language tag (e.g. those with
+   * ill-formed variants) are written as they are.
+   */
+  private static final class LocaleList extends AbstractList<Locale>
+      implements RandomAccess, Serializable {
+
+    private transient Locale[] locales;
+
+    /** The shared catalog with the available locales that owns this list, if there is one. */
+    private transient LocaleCatalog sharedCatalog;
+
+    LocaleList(Locale[] locales) {
+      this.locales = locales;
+    }
+
+    @Override
+    public Locale get(int index) {
+      return locales[index];
+    }
+
+    @Override
+    public int size() {
+      return locales.length;
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+      out.defaultWriteObject();
+      out.writeInt(locales.length);
+      for (Locale locale : locales) {
+        String tag = locale.toLanguageTag();
+        out.writeObject(Locale.forLanguageTag(tag).equals(locale) ? tag : locale);
+      }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+      in.defaultReadObject();
+      locales = new Locale[in.readInt()];
+      for (int i = 0; i < locales.length; i++) {
+        Object locale = in.readObject();
+        locales[i] = locale instanceof String tag ? Locale.forLanguageTag(tag) : (Locale) locale;
+      }
+    }
+
+    private Object writeReplace() {
+      return sharedCatalog != null ? new SerializedLocaleList(sharedCatalog) : this;
+    }
+
+    private Object readResolve() {
+      // use the list of the live catalog with the same locales, as the catalog itself does
+      LocaleCatalog catalog = findInterned(this);
+      return catalog != null ? catalog.locales : this;
+    }
+  }
+
+  private final List<Locale> locales;
+
+  private final transient ClockCache<IndexKey, LocaleSearchIndex> searchIndexes =
+      new ClockCache<>(INDEX_CACHE_SIZE);
+
+  private final transient ClockCache<IndexKey, Map<Locale, String>> searchKeys =
+      new ClockCache<>(INDEX_CACHE_SIZE);
+
+  private final transient ClockCache<IndexKey, LocaleGroupIndex> groupIndexes =
+      new ClockCache<>(INDEX_CACHE_SIZE);
+
+  private transient volatile Map<String, List<Locale>> languageGroups;
+
+  /** The same locales sorted by their native names, computed by {@link #sortedByNativeName()}. */
+  private transient volatile LocaleCatalog nativeOrder;
+
+  /** The locales of this catalog, by lower-case language tag, for matching language ranges. */
+  private transient volatile Map<String, Locale> localesByTag;
+
+  /** The results of {@link #match(String)}, by header value. */
+  private final transient ClockCache<String, Optional<Locale>> matches =
+      new ClockCache<>(MATCH_CACHE_SIZE);
+
+  /** The serialized form of this catalog, if it is a shared catalog with the available locales. */
+  private transient SerializedCatalog reference;
+
+  private LocaleCatalog(List<Locale> locales) {
+    this.locales = locales;
+  }
+
+  /**
+   * Returns a catalog with the given locales, in iteration order.
+   *
+   * <p>If there is a live catalog with the same locales in the same order, that catalog is
+   * returned, so that its search keys and prefix indexes are shared instead of being built again.
+   *
+   * @param locales the locales of the catalog
+   * @return a catalog with the given locales
+   */
+  public static LocaleCatalog of(Collection<Locale> locales) {
+    return intern(new LocaleCatalog(new LocaleList(
+        locales.stream().map(Objects::requireNonNull).toArray(Locale[]::new))));
+  }
+
+  /**
+   * Returns a catalog with the locales installed in the JVM (as returned by
+   * {@link Locale#getAvailableLocales()}), sorted by their names in the default display locale.
+   *
+   * <p>The catalog is computed once for each combination of filters and default display locale,
+   * and then shared by all callers, so calling this method doesn't sort or copy the locales again.
+   *
+   * @param filters the filters that the locales must pass
+   * @return a shared catalog with the available locales
+   */
+  public static LocaleCatalog ofAvailableLocales(AvailableLocalesFilter... filters) {
+    Set<AvailableLocalesFilter> filterSet = EnumSet.noneOf(AvailableLocalesFilter.class);
+    filterSet.addAll(Arrays.asList(filters));
+    Locale displayLocale = Locale.getDefault(Locale.Category.DISPLAY);
+    return availableCatalogs.computeIfAbsent(new AvailableKey(filterSet, displayLocale),
+        LocaleCatalog::createAvailableLocales);
+  }
+
+  private static LocaleCatalog createAvailableLocales(AvailableKey key) {
+    record Entry(String name, Locale locale) {}
+
+    Set<AvailableLocalesFilter> filters = key.filters();
+    Locale displayLocale = key.displayLocale();
+
+    Locale[] locales = Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> !filters.contains(AvailableLocalesFilter.HAS_COUNTRY)
+            || !loc.getCountry().isEmpty())
+        .map(loc -> new Entry(LocaleDisplayNameCache.getDisplayName(loc, displayLocale), loc))
+        .filter(entry -> !filters.contains(AvailableLocalesFilter.HAS_NAME)
+            || !entry.name().isBlank())
+        .sorted(Comparator.comparing(Entry::name))
+        .map(Entry::locale)
+        .toArray(Locale[]::new);
+    return new LocaleCatalog(new LocaleList(locales))
+        .withReference(new SerializedCatalog(key, false, null));
+  }
+
+  /** Makes this catalog (and its locale list) be serialized as the given reference. */
+  private LocaleCatalog withReference(SerializedCatalog reference) {
+    this.reference = reference;
+    ((LocaleList) locales).sharedCatalog = this;
+    return this;
+  }
+
+  /** Returns the live catalog with the given locales, if there is one. */
+  private static LocaleCatalog findInterned(List<Locale> locales) {
+    synchronized (internedCatalogs) {
+      WeakReference<LocaleCatalog> ref = internedCatalogs.get(locales);
+      return ref != null ? ref.get() : null;
+    }
+  }
+
+  /**
+   * Returns the live catalog with the same locales as the given one, registering the given catalog
+   * if there is none.
+   */
+  private static LocaleCatalog intern(LocaleCatalog catalog) {
+    synchronized (internedCatalogs) {
+      LocaleCatalog interned = findInterned(catalog.locales);
+      if (interned != null) {
+        return interned;
+      }
+      internedCatalogs.put(catalog.locales, new WeakReference<>(catalog));
+      return catalog;
+    }
+  }
+
+  /**
+   * Returns the locales of this catalog.
+   *
+   * @return an unmodifiable list with the locales of this catalog
+   */
+  public List<Locale> getLocales() {
+    return locales;
+  }
+
+  /**
+   * Returns a catalog with the locales of this catalog, sorted by their names in their own
+   * language, ignoring case and diacritics. This is the order in which the items are listed in
+   * {@link DisplayMode#NATIVE} mode by the lazy data providers.
+   *
+   * <p>The sorted catalog is computed once and then shared by all callers.
+   *
+   * @return a catalog with the same locales, sorted by their native names
+   */
+  public LocaleCatalog sortedByNativeName() {
+    LocaleCatalog sorted = nativeOrder;
+    if (sorted == null) {
+      sorted = new LocaleCatalog(new LocaleList(
+          locales.stream().sorted(LocaleNativeNameTable.ORDER).toArray(Locale[]::new)));
+      sorted.nativeOrder = sorted;
+      if (reference != null) {
+        sorted.withReference(new SerializedCatalog(reference.availableKey(), true, null));
+      }
+      nativeOrder = sorted;
+    }
+    return sorted;
+  }
+
+  /**
+   * Returns the number of locales in this catalog.
+   *
+   * @return the number of locales
+   */
+  public int size() {
+    return locales.size();
+  }
+
+  /**
+   * Returns the locale of this catalog that best matches an {@code Accept-Language} header, using
+   * the lookup scheme of RFC 4647 (as {@link Locale#lookup(List, Collection)} does).
+   *
+   * <p>The results are kept in a bounded cache keyed by the header value, so that matching a
+   * header that was seen before costs a single lock-free map lookup. When the cache is full, the
+   * least recently used headers are evicted. Headers that cannot be parsed are treated as if they
+   * didn't match any locale.
+   *
+   * @param acceptLanguage the value of an {@code Accept-Language} header, or {@code null}
+   * @return the best matching locale, or an empty {@code Optional} if there is none
+   */
+  public Optional<Locale> match(String acceptLanguage) {
+    if (acceptLanguage == null || acceptLanguage.isBlank()) {
+      return Optional.empty();
+    }
+
+    return matches.computeIfAbsent(acceptLanguage, this::lookup);
+  }
+
+  private Optional<Locale> lookup(String acceptLanguage) {
+    List<LanguageRange> ranges;
+    try {
+      ranges = LanguageRange.parse(acceptLanguage);
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+
+    Map<String, Locale> tags = getLocalesByTag();
+    for (LanguageRange range : ranges) {
+      String tag = range.getRange();
+      if (range.getWeight() == LanguageRange.MIN_WEIGHT || tag.equals("*")) {
+        continue;
+      }
+      // truncate the range from the end until it matches, skipping single-character subtags
+      while (!tag.isEmpty()) {
+        Locale locale = tags.get(tag);
+        if (locale != null) {
+          return Optional.of(locale);
+        }
+        int index = tag.lastIndexOf('-');
+        if (index >= 2 && tag.charAt(index - 2) == '-') {
+          index -= 2;
+        }
+        tag = index > 0 ? tag.substring(0, index) : "";
+      }
+    }
+    return Optional.empty();
+  }
+
+  private Map<String, Locale> getLocalesByTag() {
+    Map<String, Locale> tags = localesByTag;
+    if (tags == null) {
+      tags = new HashMap<>();
+      for (Locale locale : locales) {
+        tags.putIfAbsent(locale.toLanguageTag().toLowerCase(Locale.ROOT), locale);
+      }
+      localesByTag = tags;
+    }
+    return tags;
+  }
+
+  /**
+   * Returns the prefix index over the names of the locales, formatted for a display locale, or in
+   * their own language if the display locale is {@code null}.
+   */
+  LocaleSearchIndex getSearchIndex(Locale displayLocale, FilterMode filterMode) {
+    if (filterMode == FilterMode.MULTILINGUAL) {
+      // an empty filter lists the locales by their names in the display locale; that index is
+      // obtained first, since computeIfAbsent must not update the map recursively
+      LocaleSearchIndex unfiltered = getSearchIndex(displayLocale, FilterMode.NORMALIZED);
+      return searchIndexes.computeIfAbsent(new IndexKey(displayLocale, filterMode),
+          key -> LocaleSearchIndex.buildMultiValued(locales,
+              loc -> getMultilingualSearchKeys(loc, displayLocale), unfiltered));
+    }
+    return searchIndexes.computeIfAbsent(new IndexKey(displayLocale, filterMode),
+        key -> LocaleSearchIndex.build(locales, getKeyFunction(displayLocale, filterMode)));
+  }
+
+  /**
+   * Returns the index over the languages of the locales and their region variants, formatted for
+   * a display locale (or in their own language, if {@code null}). Locales without a language are
+   * not included. In
+   * {@link FilterMode#MULTILINGUAL} mode, only the names in the display locale are indexed.
+   */
+  LocaleGroupIndex getGroupIndex(Locale displayLocale, FilterMode filterMode) {
+    return groupIndexes.computeIfAbsent(new IndexKey(displayLocale, filterMode),
+        key -> new LocaleGroupIndex(getLanguageGroups(),
+            getKeyFunction(displayLocale, filterMode)));
+  }
+
+  /** Returns the locales of this catalog grouped by language, except the language locales. */
+  private Map<String, List<Locale>> getLanguageGroups() {
+    Map<String, List<Locale>> groups = languageGroups;
+    if (groups == null) {
+      groups = locales.stream().filter(loc -> !loc.getLanguage().isEmpty())
+          .collect(Collectors.groupingBy(Locale::getLanguage, Collectors.filtering(
+              loc -> !loc.equals(LocaleGroupIndex.getLanguageLocale(loc.getLanguage())),
+              Collectors.toList())));
+      languageGroups = groups;
+    }
+    return groups;
+  }
+
+  private static Function<Locale, String> getKeyFunction(Locale displayLocale,
+      FilterMode filterMode) {
+    return loc -> filterMode != FilterMode.DEFAULT
+        ? getNameSearchKey(loc, displayLocale)
+        : toSearchKey(getDisplayName(loc, displayLocale),
+            displayLocale != null ? displayLocale : loc, filterMode);
+  }
+
+  /** Returns the name of a locale formatted for a display locale, or in its own language. */
+  private static String getDisplayName(Locale locale, Locale displayLocale) {
+    return displayLocale != null ? LocaleDisplayNameCache.getDisplayName(locale, displayLocale)
+        : LocaleNativeNameTable.getDisplayName(locale);
+  }
+
+  /** Returns the normalized name of a locale formatted for a display locale, or in its own one. */
+  private static String getNameSearchKey(Locale locale, Locale displayLocale) {
+    return displayLocale != null ? LocaleDisplayNameCache.getSearchKey(locale, displayLocale)
+        : LocaleNativeNameTable.getSearchKey(locale);
+  }
+
+  /**
+   * Returns the normalized names of a locale in the display locale, in its own language and in
+   * English, without duplicates.
+   */
+  private static List<String> getMultilingualSearchKeys(Locale locale, Locale displayLocale) {
+    return Stream.of(displayLocale, null, Locale.ENGLISH)
+        .map(d -> getNameSearchKey(locale, d))
+        .filter(key -> !key.isEmpty())
+        .distinct()
+        .toList();
+  }
+
+  /**
+   * Computes the key that the in-memory filter matches for a locale, in a filter mode other than
+   * {@link FilterMode#DEFAULT}. In {@link FilterMode#MULTILINGUAL} mode, the key joins all the
+   * names of the locale, so that a single {@code contains} test matches any of them. A
+   * {@code null} display locale stands for the name of the locale in its own language.
+   */
+  static String computeSearchKey(Locale locale, Locale displayLocale, FilterMode filterMode) {
+    return filterMode == FilterMode.MULTILINGUAL
+        ? String.join(KEY_SEPARATOR, getMultilingualSearchKeys(locale, displayLocale))
+        : getNameSearchKey(locale, displayLocale);
+  }
+
+  /** Returns the search key of a locale of this catalog, as computed by computeSearchKey. */
+  String getSearchKey(Locale locale, Locale displayLocale, FilterMode filterMode) {
+    return searchKeys.computeIfAbsent(new IndexKey(displayLocale, filterMode),
+        key -> new ConcurrentHashMap<>())
+        .computeIfAbsent(locale, loc -> computeSearchKey(loc, displayLocale, filterMode));
+  }
+
+  /** Converts a name or filter text into the form of the keys used by the given filter mode. */
+  static String toSearchKey(String text, Locale displayLocale, FilterMode filterMode) {
+    return filterMode != FilterMode.DEFAULT
+        ? SearchKeyNormalizer.normalize(text, displayLocale)
+        : text.toLowerCase(displayLocale);
+  }
+
+  private Object writeReplace() {
+    return reference != null ? reference : new SerializedCatalog(null, false, locales);
+  }
+}
@@ -20,28 +20,57 @@
 
 package com.flowingcode.vaadin.addons.localecombobox;
 
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog.AvailableLocalesFilter;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache.PrewarmStatistics;
+import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.component.combobox.dataview.ComboBoxLazyDataView;
+import com.vaadin.flow.component.combobox.dataview.ComboBoxListDataView;
 import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.dependency.NpmPackage;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.Query;
 import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.function.ValueProvider;
+import com.vaadin.flow.i18n.LocaleChangeEvent;
+import com.vaadin.flow.i18n.LocaleChangeObserver;
+import com.vaadin.flow.server.VaadinRequest;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Vaadin ComboBox extension that allows to choose between multiple locales.
  *
+ * <p>When the locale used for formatting the names changes (because the UI locale changes in
+ * {@link DisplayMode#DEFAULT} mode, or the value changes in {@link DisplayMode#SELECTED} mode),
+ * the rendered items are relabeled in a single update, using the names cached for that locale.
+ *
  * @author Tomas Peiretti / Flowing Code
  */
 @SuppressWarnings("serial")
 @NpmPackage(value = "flag-icons", version = "7.2.3")
-@CssImport("flag-icons/css/flag-icons.min.css")
+@CssImport(FlagCssGenerator.STYLESHEET)
 @CssImport("./styles/locale-combo-box.css")
-public class LocaleComboBox extends ComboBox<Locale> {
+@JsModule("./src/fc-locale-combo-box-display-names.js")
+public class LocaleComboBox extends ComboBox<Locale> implements LocaleChangeObserver {
 
   private static final String ITEM_LAYOUT_CLASS_NAME = "fc-locale-combo-box-item-layout";
   private static final String ITEM_FLAG_CLASS_NAME = "fc-locale-combo-box-item-flag";
+  private static final String NO_FLAGS_CLASS_NAME = "fc-locale-combo-box-no-flags";
   private static final String DEFAULT_FLAG_CODE = "un";
 
   /**
@@ -73,19 +102,97 @@ public class LocaleComboBox extends ComboBox<Locale> {
      * <p>In this mode, the Locale names are displayed using the formatting of the specific locale
      * set by {@link #setDisplayLocale(Locale)}.
      */
-    CUSTOM;
+    CUSTOM,
+
+    /**
+     * Native display mode.
+     *
+     * <p>In this mode, each Locale name is displayed in its own language (e.g., "Deutsch",
+     * "español", "日本語"). The names are kept in an application-wide table that is computed once
+     * per locale. The lazy data providers list the items ordered by these names; for in-memory
+     * items, see {@link LocaleCatalog#sortedByNativeName()}.
+     */
+    NATIVE;
+  }
+
+  /**
+   * Represents the built-in filtering modes of the {@link LocaleComboBox} component.
+   *
+   * <p>These enums can be used in {@link #setFilterMode(FilterMode)} to switch between the
+   * built-in filtering modes.
+   */
+  public enum FilterMode {
+
+    /**
+     * Default filter mode.
+     *
+     * <p>In this mode, the typed text is matched against the locale names ignoring case, as
+     * {@code ComboBox} does.
+     */
+    DEFAULT,
+
+    /**
+     * Normalized filter mode.
+     *
+     * <p>In this mode, the typed text is matched ignoring case and diacritics (e.g., "espanol"
+     * matches "español"), against search keys that are computed once per display locale.
+     */
+    NORMALIZED,
+
+    /**
+     * Multilingual filter mode.
+     *
+     * <p>In this mode, the typed text is matched ignoring case and diacritics against the name of
+     * each locale in the display locale, in its own language and in English (e.g., "deutsch",
+     * "german" and "alemán" all match German when the list is displayed in Spanish). The combined
+     * search keys are computed once per display locale.
+     */
+    MULTILINGUAL;
   }
 
   private DisplayMode displayMode = DisplayMode.DEFAULT;
+
+  private FilterMode filterMode = FilterMode.DEFAULT;
   private Locale customDisplayLocale;
 
   /** Indicates whether the flags should be displayed alongside the locale names. */
   private boolean hasFlags = true;
 
+  /** The flag of the selected locale, reused across value changes. */
+  private final Span prefixFlag = new Span();
+
+  /** Indicates whether the compact renderers are used. */
+  private boolean compactRendering;
+
+  /** Indicates whether locale names are resolved by the browser. */
+  private boolean clientSideNames;
+
+  /** The catalog that provides the items, or {@code null} if items were set otherwise. */
+  private LocaleCatalog catalog;
+
+  /**
+   * Normalized search keys of the items for the current filter mode, by display locale, when there
+   * is no catalog.
+   */
+  private transient Map<Locale, Map<Locale, String>> searchKeys;
+
+  /** The last filter text and its search key, for not normalizing it once per item. */
+  private transient String lastFilterText;
+
+  private transient String lastFilterKey;
+
+  /** The locale used for formatting the names when the items were last refreshed. */
+  private transient Locale labelsDisplayLocale;
+
+  /** Indicates whether the items were last refreshed in {@link DisplayMode#NATIVE} mode. */
+  private transient boolean labelsNativeNames;
+
   /** Creates a new instance of {@code LocaleComboBox}. */
   public LocaleComboBox() {
-    setItemLabelGenerator(item -> item.getDisplayName(getLocaleForDisplay()));
+    setItemLabelGenerator(this::getDisplayName);
     setRenderer(getLocaleRenderer());
+    prefixFlag.setVisible(false);
+    setPrefixComponent(prefixFlag);
     addValueChangeListener(this::onValueChange);
   }
 
@@ -99,6 +206,295 @@ public class LocaleComboBox extends ComboBox<Locale> {
     setItems(locales);
   }
 
+  /**
+   * Creates a new instance of {@code LocaleComboBox} with the locales of a shared catalog.
+   *
+   * @param catalog the {@code LocaleCatalog} that provides the items of the combobox
+   */
+  public LocaleComboBox(LocaleCatalog catalog) {
+    this();
+    setItems(catalog);
+  }
+
+  /**
+   * Creates a new instance of {@code LocaleComboBox} with the locales installed in the JVM,
+   * sorted by name.
+   *
+   * <p>The sorted list of locales is computed once and shared by all the instances created with
+   * the same filters, so creating an instance doesn't sort the locales again.
+   *
+   * @param filters the filters that the locales must pass
+   * @return a new {@code LocaleComboBox}
+   * @see LocaleCatalog#ofAvailableLocales(AvailableLocalesFilter...)
+   */
+  public static LocaleComboBox ofAvailableLocales(AvailableLocalesFilter... filters) {
+    return new LocaleComboBox(LocaleCatalog.ofAvailableLocales(filters));
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>The items are filtered according to the current {@linkplain #setFilterMode(FilterMode)
+   * filter mode}.
+   */
+  @Override
+  public ComboBoxListDataView<Locale> setItems(Collection<Locale> items) {
+    catalog = null;
+    searchKeys = null;
+    return setItems(this::filterItem, items);
+  }
+
+  /**
+   * Sets the items of the combobox from a shared catalog.
+   *
+   * <p>The component keeps a reference to the catalog instead of a copy of its locales, and
+   * reuses the search keys that the catalog computes for each display locale. Since the catalog is
+   * immutable, items cannot be added or removed through the returned data view.
+   *
+   * @param catalog the {@code LocaleCatalog} that provides the items of the combobox
+   * @return the list data view of the combobox
+   */
+  public ComboBoxListDataView<Locale> setItems(LocaleCatalog catalog) {
+    this.catalog = Objects.requireNonNull(catalog);
+    searchKeys = null;
+    return setItems(this::filterItem, catalog.getLocales());
+  }
+
+  /**
+   * Sets the desired locales through a lazy data provider that is filtered on the server.
+   *
+   * <p>Unlike {@link #setItems(Collection)}, which runs the item label generator over every item
+   * each time the filter changes, this method keeps a sorted prefix index over the locale names
+   * for each display locale. Fetch and count queries are answered by a range lookup in that index,
+   * so only the requested page of items is computed and sent to the client.
+   *
+   * <p>In this mode, items are ordered by name, and the filter matches the locale names that
+   * start with the typed text, ignoring case (and diacritics, if {@link FilterMode#NORMALIZED} is
+   * set). In {@link FilterMode#MULTILINGUAL} mode, a locale is listed if any of its names starts
+   * with the typed text.
+   *
+   * @param locales the {@code Collection} of {@code Locale} to include in the combobox
+   * @return the lazy data view of the combobox
+   */
+  public ComboBoxLazyDataView<Locale> setLazyItems(Collection<Locale> locales) {
+    return setLazyItems(LocaleCatalog.of(locales));
+  }
+
+  /**
+   * Sets the locales of a shared catalog through a lazy data provider that is filtered on the
+   * server. The prefix indexes are kept by the catalog, so they are built once and shared by all
+   * the components that use it.
+   *
+   * @param catalog the {@code LocaleCatalog} that provides the items of the combobox
+   * @return the lazy data view of the combobox
+   * @see #setLazyItems(Collection)
+   */
+  public ComboBoxLazyDataView<Locale> setLazyItems(LocaleCatalog catalog) {
+    this.catalog = Objects.requireNonNull(catalog);
+    searchKeys = null;
+    return setItems(
+        query -> fetchPage(query, () -> getSearchIndex().fetch(getSearchPrefix(query.getFilter()),
+            query.getOffset(), query.getLimit())),
+        query -> getSearchIndex().count(getSearchPrefix(query.getFilter())));
+  }
+
+  /**
+   * Sets the locales of a shared catalog through a lazy data provider that groups them by
+   * language.
+   *
+   * <p>Initially, the dropdown lists only one item per language (e.g. "Spanish"). The region
+   * variants of a language (e.g. "Spanish (Argentina)") are listed when the filter text narrows
+   * the list down to that language, that is, when the filter matches the name of only one language,
+   * or when it starts with the name of a language. Since the variants of a language are indexed
+   * the first time they are needed, the cost of opening the dropdown depends on the number of
+   * languages rather than on the number of locales.
+   *
+   * <p>As in {@link #setLazyItems(LocaleCatalog)}, items are ordered by name and the filter
+   * matches the names that start with the typed text. The item of each language is the locale
+   * without country (e.g. {@code es}), which can be selected even if the catalog doesn't contain
+   * it. Locales without a language are not listed.
+   *
+   * @param catalog the {@code LocaleCatalog} that provides the items of the combobox
+   * @return the lazy data view of the combobox
+   */
+  public ComboBoxLazyDataView<Locale> setGroupedItems(LocaleCatalog catalog) {
+    this.catalog = Objects.requireNonNull(catalog);
+    searchKeys = null;
+    return setItems(
+        query -> fetchPage(query, () -> getGroupIndex().fetch(getSearchPrefix(query.getFilter()),
+            query.getOffset(), query.getLimit())),
+        query -> getGroupIndex().count(getSearchPrefix(query.getFilter())));
+  }
+
+  /**
+   * Sets the desired locales through a lazy data provider that groups them by language.
+   *
+   * @param locales the {@code Collection} of {@code Locale} to include in the combobox
+   * @return the lazy data view of the combobox
+   * @see #setGroupedItems(LocaleCatalog)
+   */
+  public ComboBoxLazyDataView<Locale> setGroupedItems(Collection<Locale> locales) {
+    return setGroupedItems(LocaleCatalog.of(locales));
+  }
+
+  /** Fetches a page of items, reporting the time spent to the metrics listener. */
+  private static Stream<Locale> fetchPage(Query<Locale, String> query,
+      Supplier<Stream<Locale>> fetch) {
+    LocaleComboBoxMetrics metrics = LocaleComboBoxMetrics.getListener();
+    if (metrics == LocaleComboBoxMetrics.NONE) {
+      return fetch.get();
+    }
+
+    long start = System.nanoTime();
+    List<Locale> page = fetch.get().toList();
+    metrics.dataFetched(query.getOffset(), query.getLimit(), System.nanoTime() - start);
+    return page.stream();
+  }
+
+  /**
+   * Fills the application-wide tables of locale names and flag codes in the background, so that
+   * the first component displayed with each display locale doesn't pay for computing them.
+   *
+   * <p>This method is intended to be called at application startup. The names for each display
+   * locale are computed in parallel in the common fork-join pool.
+   *
+   * @param items the locales that will be displayed by the components
+   * @param displayLocales the locales that will be used for formatting the names
+   * @return a future that is completed with the statistics of the pre-warm
+   * @see LocaleDisplayNameCache#prewarm(Collection, Collection, Executor)
+   */
+  public static CompletableFuture<PrewarmStatistics> prewarm(Collection<Locale> items,
+      Collection<Locale> displayLocales) {
+    Executor executor = ForkJoinPool.commonPool();
+    List<Locale> locales = List.copyOf(items);
+    CompletableFuture<Void> flags = CompletableFuture.runAsync(() -> locales
+        .forEach(locale -> LocaleCountryConverter.convertToFlagCode(locale.getCountry())),
+        executor);
+    return LocaleDisplayNameCache.prewarm(locales, displayLocales, executor)
+        .thenCombine(flags, (statistics, v) -> statistics);
+  }
+
+  /**
+   * Returns the catalog that provides the items of the combobox.
+   *
+   * @return the catalog, or {@code null} if the items were not set from a catalog
+   */
+  public LocaleCatalog getCatalog() {
+    return catalog;
+  }
+
+  /**
+   * Sets the value of the combobox to the item that best matches the {@code Accept-Language}
+   * header of the current request. The value is not changed if there is no current request, or if
+   * none of the items matches the header.
+   *
+   * @return the selected locale, or an empty {@code Optional} if the value was not changed
+   * @see #preselect(String)
+   */
+  public Optional<Locale> preselect() {
+    VaadinRequest request = VaadinRequest.getCurrent();
+    return request != null ? preselect(request.getHeader("Accept-Language")) : Optional.empty();
+  }
+
+  /**
+   * Sets the value of the combobox to the item that best matches an {@code Accept-Language}
+   * header. The value is not changed if none of the items matches the header.
+   *
+   * <p>When the items were set from a {@link LocaleCatalog}, the match is resolved by
+   * {@link LocaleCatalog#match(String)}, which caches the result by header value. Otherwise, the
+   * header is parsed and matched against the items with {@link Locale#lookup(List, Collection)}
+   * on each call, without caching, since the items are not shared with other instances. For
+   * preselecting the value of a component in every session, prefer a shared catalog.
+   *
+   * @param acceptLanguage the value of an {@code Accept-Language} header, or {@code null}
+   * @return the selected locale, or an empty {@code Optional} if the value was not changed
+   */
+  public Optional<Locale> preselect(String acceptLanguage) {
+    Optional<Locale> match;
+    if (catalog != null) {
+      match = catalog.match(acceptLanguage);
+    } else if (acceptLanguage == null || acceptLanguage.isBlank()) {
+      match = Optional.empty();
+    } else {
+      try {
+        List<Locale> items = getGenericDataView().getItems().collect(Collectors.toList());
+        match = Optional.ofNullable(Locale.lookup(LanguageRange.parse(acceptLanguage), items));
+      } catch (IllegalArgumentException e) {
+        match = Optional.empty();
+      }
+    }
+    match.ifPresent(this::setValue);
+    return match;
+  }
+
+  private LocaleSearchIndex getSearchIndex() {
+    return catalog.getSearchIndex(getNamesLocale(), filterMode);
+  }
+
+  private LocaleGroupIndex getGroupIndex() {
+    return catalog.getGroupIndex(getNamesLocale(), filterMode);
+  }
+
+  private String getSearchPrefix(Optional<String> filter) {
+    return filter.map(text -> LocaleCatalog.toSearchKey(text, getLocaleForDisplay(), filterMode))
+        .orElse("");
+  }
+
+  /**
+   * Returns whether an item matches the text typed by the user, according to the current
+   * {@linkplain #setFilterMode(FilterMode) filter mode}. This filter is used by the in-memory data
+   * provider set with {@link #setItems(Collection)}.
+   *
+   * @param item the item to test
+   * @param filterText the text typed by the user
+   * @return {@code true} if the item matches the filter text, {@code false} otherwise
+   */
+  private boolean filterItem(Locale item, String filterText) {
+    if (filterMode == FilterMode.DEFAULT) {
+      Locale locale = getUILocale();
+      return getItemLabelGenerator().apply(item).toLowerCase(locale)
+          .contains(filterText.toLowerCase(locale));
+    }
+
+    if (!filterText.equals(lastFilterText)) {
+      lastFilterKey = SearchKeyNormalizer.normalize(filterText, getLocaleForDisplay());
+      lastFilterText = filterText;
+    }
+    return getSearchKey(item, getNamesLocale()).contains(lastFilterKey);
+  }
+
+  private String getSearchKey(Locale item, Locale displayLocale) {
+    if (catalog != null) {
+      return catalog.getSearchKey(item, displayLocale, filterMode);
+    }
+    if (searchKeys == null) {
+      searchKeys = new HashMap<>();
+    }
+    return searchKeys.computeIfAbsent(displayLocale, d -> new HashMap<>()).computeIfAbsent(item,
+        loc -> LocaleCatalog.computeSearchKey(loc, displayLocale, filterMode));
+  }
+
+  /**
+   * Sets the filter mode of the LocaleComboBox.
+   *
+   * @param filterMode the filter mode to use
+   * @see FilterMode
+   */
+  public void setFilterMode(FilterMode filterMode) {
+    this.filterMode = Objects.requireNonNull(filterMode);
+    lastFilterText = null;
+    searchKeys = null;
+  }
+
+  /**
+   * Returns the filter mode of the LocaleComboBox.
+   *
+   * @return the filter mode in use
+   */
+  public FilterMode getFilterMode() {
+    return filterMode;
+  }
+
   /**
    * Sets the display mode of the LocaleComboBox.
    *
@@ -107,6 +503,7 @@ public class LocaleComboBox extends ComboBox<Locale> {
    */
   public void setDisplayMode(DisplayMode displayMode) {
     this.displayMode = displayMode;
+    this.refreshLabels();
   }
 
   /**
@@ -121,6 +518,7 @@ public class LocaleComboBox extends ComboBox<Locale> {
    */
   public void setDisplayLocale(Locale displayLocale) {
     this.customDisplayLocale = displayLocale;
+    this.refreshLabels();
   }
 
   /**
@@ -136,63 +534,324 @@ public class LocaleComboBox extends ComboBox<Locale> {
    * Sets whether flags should be displayed alongside locale names.
    *
    * <p>This method updates the internal state to reflect whether flags should be displayed and
-   * updates the rendering based on the new state.
+   * updates the rendering based on the new state. Flags in the dropdown are shown or hidden
+   * through a class name of the overlay, so that toggling them doesn't require replacing the
+   * renderer. While flags are hidden, the flag properties of the items are neither computed nor
+   * sent, so the items are refreshed when the setting changes.
    *
    * @param hasFlags A {@code boolean} indicating whether flags should be displayed or not.
    */
   public void setHasFlags(boolean hasFlags) {
+    boolean changed = this.hasFlags != hasFlags;
     this.hasFlags = hasFlags;
-    this.setRenderer(this.hasFlags ? getLocaleRenderer() : getLocaleRendererWithoutFlags());
+    this.updateOverlayClassName();
+    if (changed) {
+      getGenericDataView().refreshAll();
+    }
     this.setPrefixFlag(this.hasFlags ? this.getValue() : null);
   }
 
+  /**
+   * Returns whether the compact renderers are used.
+   *
+   * @return {@code true} if the compact renderers are used, {@code false} otherwise
+   * @see #setCompactRendering(boolean)
+   */
+  public boolean isCompactRendering() {
+    return compactRendering;
+  }
+
+  /**
+   * Sets whether the items are rendered with a compact payload.
+   *
+   * <p>In compact mode, the constant CSS class names are part of the template instead of being
+   * sent as properties of each item, and the accessible label of the flag (the name of the
+   * country) is resolved in the browser from the country code. Only the flag code and the locale
+   * name are sent for each item.
+   *
+   * @param compactRendering {@code true} for using the compact renderers, {@code false} otherwise
+   */
+  public void setCompactRendering(boolean compactRendering) {
+    this.compactRendering = compactRendering;
+    this.updateRenderer();
+  }
+
+  /**
+   * Returns whether locale names are resolved by the browser.
+   *
+   * @return {@code true} if locale names are resolved by the browser, {@code false} otherwise
+   * @see #setClientSideNames(boolean)
+   */
+  public boolean isClientSideNames() {
+    return clientSideNames;
+  }
+
+  /**
+   * Sets whether locale names in the dropdown are resolved by the browser.
+   *
+   * <p>When enabled, only the BCP 47 language tag of each item and of the display locale are sent,
+   * and the names are resolved in the browser with {@code Intl.DisplayNames}. Items whose name the
+   * browser cannot resolve (e.g. because it doesn't support the display locale) fall back to the
+   * item label computed on the server. Since names are formatted by the browser, they may differ
+   * slightly from the ones provided by the JDK.
+   *
+   * <p>This setting takes precedence over {@link #setCompactRendering(boolean)}.
+   *
+   * @param clientSideNames {@code true} for resolving names in the browser, {@code false} otherwise
+   */
+  public void setClientSideNames(boolean clientSideNames) {
+    this.clientSideNames = clientSideNames;
+    this.updateRenderer();
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>When flags are {@linkplain #setHasFlags(boolean) disabled}, the class name that hides the
+   * flags in the dropdown is kept in addition to the given ones.
+   */
+  @Override
+  public void setOverlayClassName(String overlayClassName) {
+    String classNames = Arrays.stream(Objects.toString(overlayClassName, "").split(" "))
+        .filter(className -> !className.isEmpty() && !className.equals(NO_FLAGS_CLASS_NAME))
+        .collect(Collectors.joining(" "));
+    if (!hasFlags) {
+      classNames = classNames.isEmpty() ? NO_FLAGS_CLASS_NAME
+          : classNames + " " + NO_FLAGS_CLASS_NAME;
+    }
+    super.setOverlayClassName(classNames);
+  }
+
+  private void updateOverlayClassName() {
+    setOverlayClassName(getOverlayClassName());
+  }
+
+  private void updateRenderer() {
+    if (clientSideNames) {
+      setRenderer(getClientSideLocaleRenderer());
+    } else if (compactRendering) {
+      setRenderer(getCompactLocaleRenderer());
+    } else {
+      setRenderer(getLocaleRenderer());
+    }
+  }
+
+  /**
+   * Returns the renderer used for displaying the items alongside their flags. When flags are
+   * disabled, the flags are hidden through the overlay class name, without changing the renderer,
+   * and the flag properties are {@code null}.
+   *
+   * @return a {@code LitRenderer} for the locale items
+   */
   private LitRenderer<Locale> getLocaleRenderer() {
     return LitRenderer.<Locale>of(
             """
                 <vaadin-horizontal-layout class="${item.layoutClass}">
-                    <span class="fi fi-${item.countryCode} ${item.flagClass} alt="${item.countryName}'s flag"></span>
+                    <span class="fi fi-${item.countryCode} ${item.flagClass}" alt="${item.countryName}'s flag"></span>
                     <span>${item.displayName}</span>
                 </vaadin-horizontal-layout>""")
-        .withProperty("layoutClass", loc -> ITEM_LAYOUT_CLASS_NAME)
-        .withProperty("flagClass", loc -> ITEM_FLAG_CLASS_NAME)
-        .withProperty("countryCode", this::getFlagCode)
-        .withProperty("countryName", loc -> loc.getDisplayCountry(getLocaleForDisplay()))
-        .withProperty("displayName", loc -> loc.getDisplayName(getLocaleForDisplay()));
+        .withProperty("layoutClass", measured("layoutClass", loc -> ITEM_LAYOUT_CLASS_NAME))
+        .withProperty("flagClass", measured("flagClass", this::getItemFlagClass))
+        .withProperty("countryCode", measured("countryCode", this::getItemFlagCode))
+        .withProperty("countryName", measured("countryName", this::getItemCountryName))
+        .withProperty("displayName", measured("displayName", this::getDisplayName));
+  }
+
+  /**
+   * Returns the compact renderer used for displaying the items alongside their flags. The
+   * accessible label of each flag is the name of its country, resolved in the browser for the
+   * display locale, which is part of the template. In {@link DisplayMode#NATIVE} mode, the country
+   * names are resolved for the language of the page.
+   *
+   * @return a {@code LitRenderer} for the locale items
+   * @see #setCompactRendering(boolean)
+   */
+  private LitRenderer<Locale> getCompactLocaleRenderer() {
+    return LitRenderer.<Locale>of(
+            """
+                <vaadin-horizontal-layout class="%s">
+                    <span class="fi fi-${item.code} %s" role="img" aria-label="${window.fcLocaleComboBox.regionName(item.code, '%s')}"></span>
+                    <span>${item.name}</span>
+                </vaadin-horizontal-layout>"""
+                .formatted(ITEM_LAYOUT_CLASS_NAME, ITEM_FLAG_CLASS_NAME, getDisplayTag()))
+        .withProperty("code", measured("code", this::getItemFlagCode))
+        .withProperty("name", measured("name", this::getDisplayName));
   }
 
-  private LitRenderer<Locale> getLocaleRendererWithoutFlags() {
+  /**
+   * Returns the renderer that resolves locale names in the browser, used for displaying the items
+   * alongside their flags. The display locale is the same for every item, so it is part of the
+   * template and the language tag of each item is sent, along with the name computed on the server
+   * as a fallback. In {@link DisplayMode#NATIVE} mode, there is no display locale and each item is
+   * named in its own language. The accessible label of each flag is the name of its country,
+   * resolved in the same language as the name of the item.
+   *
+   * @return a {@code LitRenderer} for the locale items
+   * @see #setClientSideNames(boolean)
+   */
+  private LitRenderer<Locale> getClientSideLocaleRenderer() {
+    String displayTag = getDisplayTag();
     return LitRenderer.<Locale>of(
             """
-        <vaadin-horizontal-layout class="${item.layoutClass}">
-            <span>${item.displayName}</span>
-        </vaadin-horizontal-layout>""")
-        .withProperty("layoutClass", loc -> ITEM_LAYOUT_CLASS_NAME)
-        .withProperty("displayName", loc -> loc.getDisplayName(getLocaleForDisplay()));
+                <vaadin-horizontal-layout class="%s">
+                    <span class="fi fi-${item.code} %s" role="img" aria-label="${window.fcLocaleComboBox.regionName(item.code, '%s' || item.tag)}"></span>
+                    <span>${window.fcLocaleComboBox.displayName(item.tag, '%s' || item.tag, item.label)}</span>
+                </vaadin-horizontal-layout>"""
+                .formatted(ITEM_LAYOUT_CLASS_NAME, ITEM_FLAG_CLASS_NAME, displayTag, displayTag))
+        .withProperty("code", measured("code", this::getItemFlagCode))
+        .withProperty("tag", measured("tag", Locale::toLanguageTag))
+        .withProperty("label", measured("label", this::getDisplayName));
+  }
+
+  /**
+   * Returns the language tag of the locale used for formatting the names of the items, or an empty
+   * string if each item is named in its own language.
+   */
+  private String getDisplayTag() {
+    return Optional.ofNullable(getNamesLocale()).map(Locale::toLanguageTag).orElse("");
+  }
+
+  /**
+   * Wraps a renderer property so that its evaluations are reported to the metrics listener. If no
+   * listener is registered when the renderer is created, the property is returned as it is, so
+   * that disabled metrics cost nothing per item.
+   */
+  private static <V> ValueProvider<Locale, V> measured(String property,
+      ValueProvider<Locale, V> provider) {
+    LocaleComboBoxMetrics metrics = LocaleComboBoxMetrics.getListener();
+    if (metrics == LocaleComboBoxMetrics.NONE) {
+      return provider;
+    }
+    return loc -> {
+      metrics.rendererPropertyEvaluated(property);
+      return provider.apply(loc);
+    };
+  }
+
+  /**
+   * {@inheritDoc}
+   *
+   * <p>In {@link DisplayMode#DEFAULT} mode, the items are relabeled using the new locale.
+   */
+  @Override
+  public void localeChange(LocaleChangeEvent event) {
+    this.refreshLabels();
+  }
+
+  /**
+   * Refreshes the items if the locale used for formatting their names has changed since the last
+   * refresh. The names are looked up in {@link LocaleDisplayNameCache}, so the names of locales
+   * that were already displayed with the new locale are not computed again.
+   *
+   * <p>While the component is detached, nothing has been rendered, so the locale is not resolved
+   * (which would require a current UI or service) until the items are requested.
+   */
+  private void refreshLabels() {
+    lastFilterText = null;
+    if (!isAttached()) {
+      labelsDisplayLocale = null;
+      return;
+    }
+
+    Locale displayLocale = getLocaleForDisplay();
+    boolean nativeNames = displayMode == DisplayMode.NATIVE;
+    if (displayLocale.equals(labelsDisplayLocale) && nativeNames == labelsNativeNames) {
+      return;
+    }
+
+    labelsDisplayLocale = displayLocale;
+    labelsNativeNames = nativeNames;
+    if (clientSideNames || compactRendering) {
+      // the display locale is part of the template
+      updateRenderer();
+    }
+    getGenericDataView().refreshAll();
+    refreshValue();
   }
 
   private Locale getLocaleForDisplay() {
 
     switch (displayMode) {
       case CUSTOM:
-        return Optional.ofNullable(customDisplayLocale).orElseGet(this::getLocale);
+        return Optional.ofNullable(customDisplayLocale).orElseGet(this::getUILocale);
 
       case SELECTED:
-        return Optional.ofNullable(this.getValue()).orElseGet(this::getLocale);
+        return Optional.ofNullable(this.getValue()).orElseGet(this::getUILocale);
 
       default:
-        return this.getLocale();
+        return this.getUILocale();
+    }
+  }
+
+  /**
+   * Returns the locale of the component, or the default locale if there is no current UI (e.g.
+   * when items are fetched outside of a request), since {@link #getLocale()} requires a service.
+   */
+  private Locale getUILocale() {
+    return UI.getCurrent() != null ? getLocale() : Locale.getDefault();
+  }
+
+  /**
+   * Returns the locale used for formatting the names of the items, or {@code null} if each item
+   * is named in its own language.
+   */
+  private Locale getNamesLocale() {
+    return displayMode == DisplayMode.NATIVE ? null : getLocaleForDisplay();
+  }
+
+  private String getDisplayName(Locale locale) {
+    if (displayMode == DisplayMode.NATIVE) {
+      LocaleComboBoxMetrics.getListener().labelComputed(locale, locale);
+      return LocaleNativeNameTable.getDisplayName(locale);
+    }
+    Locale displayLocale = getLocaleForDisplay();
+    LocaleComboBoxMetrics.getListener().labelComputed(locale, displayLocale);
+    return getDisplayName(locale, displayLocale);
+  }
+
+  private static String getDisplayName(Locale locale, Locale displayLocale) {
+    return LocaleDisplayNameCache.getDisplayName(locale, displayLocale);
+  }
+
+  private String getDisplayCountry(Locale locale) {
+    if (displayMode == DisplayMode.NATIVE) {
+      return LocaleNativeNameTable.getDisplayCountry(locale);
     }
+    return LocaleDisplayNameCache.getDisplayCountry(locale, getLocaleForDisplay());
+  }
+
+  private String getItemFlagClass(Locale locale) {
+    return hasFlags ? ITEM_FLAG_CLASS_NAME : null;
+  }
+
+  /** Returns the flag code of an item, or {@code null} if flags are disabled. */
+  private String getItemFlagCode(Locale locale) {
+    return hasFlags ? getFlagCode(locale) : null;
   }
 
+  private String getItemCountryName(Locale locale) {
+    return hasFlags ? getDisplayCountry(locale) : null;
+  }
+
+  /**
+   * Returns the flag icon code of the country of a locale.
+   *
+   * @param locale the locale
+   * @return the lower-case ISO 3166-1 alpha-2 code of the locale's country, or {@code "un"} if the
+   *     country is unknown
+   */
   private String getFlagCode(Locale locale) {
-    String countryCode = locale.getCountry();
-    return LocaleCountryConverter.convertToISO3166Code(countryCode)
-        .map(String::toLowerCase)
-        .orElse(DEFAULT_FLAG_CODE);
+    String flagCode = LocaleCountryConverter.convertToFlagCode(locale.getCountry());
+    LocaleComboBoxMetrics.getListener().flagCodeLookup(locale.getCountry(), flagCode != null);
+    return flagCode != null ? flagCode : DEFAULT_FLAG_CODE;
   }
 
   private void onValueChange(ComponentValueChangeEvent<ComboBox<Locale>, Locale> event) {
 
+    if (displayMode == DisplayMode.SELECTED) {
+      this.refreshLabels();
+    }
+
     if (!this.hasFlags) {
       return;
     }
@@ -202,13 +861,13 @@ public class LocaleComboBox extends ComboBox<Locale> {
   }
 
   private void setPrefixFlag(Locale locale) {
+    LocaleComboBoxMetrics.getListener().prefixFlagUpdated(locale);
     if (locale == null) {
-      setPrefixComponent(null);
+      prefixFlag.setVisible(false);
       return;
     }
 
-    Span flagIcon = new Span();
-    flagIcon.addClassNames("fi", "fi-" + this.getFlagCode(locale));
-    setPrefixComponent(flagIcon);
+    prefixFlag.setClassName("fi fi-" + this.getFlagCode(locale));
+    prefixFlag.setVisible(true);
   }
 }
@@ -0,0 +1,131 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Listener that is notified of the work done by the {@link LocaleComboBox} components of the
+ * application, so that it can be reported to a metrics backend.
+ *
+ * <p>All methods have an empty default implementation, so that implementations only need to
+ * override the events they are interested in. Listener methods are invoked on the rendering path,
+ * so they must be thread-safe and cheap (e.g. incrementing a counter).
+ *
+ * <p>A single listener is registered for the whole application. By default, the listener is
+ * {@link #NONE}, whose empty methods are inlined by the JIT compiler, and data fetches are not
+ * timed.
+ *
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * LocaleComboBoxMetrics.setListener(new LocaleComboBoxMetrics() {
+ *   &#64;Override
+ *   public void displayNameCacheMiss(Locale locale, Locale displayLocale) {
+ *     misses.increment();
+ *   }
+ * });
+ * </pre>
+ */
+public interface LocaleComboBoxMetrics {
+
+  /** A listener that ignores all events. */
+  LocaleComboBoxMetrics NONE = new LocaleComboBoxMetrics() {};
+
+  /**
+   * Registers the listener that is notified by all the components of the application.
+   *
+   * <p>Renderer properties are reported only by the components whose renderer was created while a
+   * listener was registered, so the listener should be registered at application startup.
+   *
+   * @param listener the listener, or {@link #NONE} for disabling the notifications
+   */
+  static void setListener(LocaleComboBoxMetrics listener) {
+    MetricsHolder.listener = Objects.requireNonNull(listener);
+  }
+
+  /**
+   * Returns the listener that is notified by all the components of the application.
+   *
+   * @return the registered listener, or {@link #NONE} if there is none
+   */
+  static LocaleComboBoxMetrics getListener() {
+    return MetricsHolder.listener;
+  }
+
+  /**
+   * Called when the label of an item is computed.
+   *
+   * @param locale the item
+   * @param displayLocale the locale used for formatting the label
+   */
+  default void labelComputed(Locale locale, Locale displayLocale) {}
+
+  /**
+   * Called when a property of the item renderer is evaluated for an item, if the renderer was
+   * created while this listener was registered.
+   *
+   * @param property the name of the renderer property
+   */
+  default void rendererPropertyEvaluated(String property) {}
+
+  /**
+   * Called when a name is found in {@link LocaleDisplayNameCache}.
+   *
+   * @param locale the locale whose name was requested
+   * @param displayLocale the locale used for formatting the name
+   */
+  default void displayNameCacheHit(Locale locale, Locale displayLocale) {}
+
+  /**
+   * Called when a name is not found in {@link LocaleDisplayNameCache}, and has to be computed.
+   *
+   * @param locale the locale whose name was requested
+   * @param displayLocale the locale used for formatting the name
+   */
+  default void displayNameCacheMiss(Locale locale, Locale displayLocale) {}
+
+  /**
+   * Called when the flag code of a locale is looked up with {@link LocaleCountryConverter}.
+   *
+   * @param countryCode the country code of the locale
+   * @param found {@code false} if the country code is unknown and the {@code un} flag is used
+   */
+  default void flagCodeLookup(String countryCode, boolean found) {}
+
+  /**
+   * Called when the flag shown as prefix of the combobox is updated.
+   *
+   * @param locale the locale whose flag is shown, or {@code null} if the flag is hidden
+   */
+  default void prefixFlagUpdated(Locale locale) {}
+
+  /**
+   * Called after a page of items is fetched from a lazy data provider set with
+   * {@link LocaleComboBox#setLazyItems(LocaleCatalog)}.
+   *
+   * @param offset the offset of the requested page
+   * @param limit the size of the requested page
+   * @param nanos the time spent in the fetch, in nanoseconds
+   */
+  default void dataFetched(int offset, int limit, long nanos) {}
+}
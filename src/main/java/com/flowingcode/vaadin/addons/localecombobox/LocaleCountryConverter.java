@@ -19,16 +19,17 @@
  */
 package com.flowingcode.vaadin.addons.localecombobox;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Utility class for converting between different formats of country codes.
  *
  * <p>The {@code LocaleCountryConverter} class provides methods to convert country codes from ISO
- * 3166-1 alpha-2, alpha-3, and numeric-3 formats to the 3166-1 alpha-2 format. The class uses
- * static methods, so no instances are needed.
+ * 3166-1 alpha-2, alpha-3, and numeric-3 formats to the 3166-1 alpha-2 format, either one at a
+ * time or in bulk, and to the alpha-3 and numeric formats. The class uses static methods, so no
+ * instances are needed.
  *
  * <p>
  * Example usage:
@@ -41,264 +42,47 @@ import java.util.Optional;
  */
 public class LocaleCountryConverter {
 
-  private static final Map<String, String> conversions = new HashMap<>();
+  private static final int ALPHA2_SIZE = 26 * 26;
 
-  private static void add(String alpha2, String alpha3, int numeric) {
-    conversions.put(alpha2, alpha2);
-    conversions.put(alpha3, alpha2);
-    conversions.put(Integer.toString(numeric), alpha2);
-  }
+  private static final int ALPHA3_SIZE = 26 * 26 * 26;
+
+  private static final int NUMERIC_SIZE = 1000;
+
+  /**
+   * Alpha-2 codes wrapped in {@code Optional}, indexed by {@link #alpha2Index}, created on first
+   * use. Concurrent initialization is harmless, since both instances are equal and immutable.
+   */
+  @SuppressWarnings("unchecked")
+  private static final Optional<String>[] codes = new Optional[ALPHA2_SIZE];
+
+  /** Lower-case alpha-2 codes, indexed by {@link #alpha2Index}, created on first use. */
+  private static final String[] flagCodes = new String[ALPHA2_SIZE];
+
+  /** Alpha-3 codes, indexed by {@link #alpha2Index}, created on first use. */
+  private static final String[] alpha3Codes = new String[ALPHA2_SIZE];
+
+  /**
+   * One plus the row in {@link LocaleCountryData} of each {@link #alpha2Index}, or zero if
+   * unknown.
+   */
+  private static final short[] alpha2ToRow = new short[ALPHA2_SIZE];
+
+  /** One plus the {@link #alpha2Index} of each alpha-3 code, or zero if unknown. */
+  private static final short[] alpha3ToAlpha2 = new short[ALPHA3_SIZE];
+
+  /** One plus the {@link #alpha2Index} of each numeric code, or zero if unknown. */
+  private static final short[] numericToAlpha2 = new short[NUMERIC_SIZE];
 
+  // The codes are packed into the constant strings of LocaleCountryData, generated from
+  // src/main/data/iso3166.csv, so that initializing the tables doesn't allocate any objects.
   static {
-    add("AF", "AFG", 4);
-    add("AL", "ALB", 8);
-    add("DZ", "DZA", 12);
-    add("AS", "ASM", 16);
-    add("AD", "AND", 20);
-    add("AO", "AGO", 24);
-    add("AI", "AIA", 660);
-    add("AQ", "ATA", 10);
-    add("AG", "ATG", 28);
-    add("AR", "ARG", 32);
-    add("AM", "ARM", 51);
-    add("AW", "ABW", 533);
-    add("AU", "AUS", 36);
-    add("AT", "AUT", 40);
-    add("AZ", "AZE", 31);
-    add("BS", "BHS", 44);
-    add("BH", "BHR", 48);
-    add("BD", "BGD", 50);
-    add("BB", "BRB", 52);
-    add("BY", "BLR", 112);
-    add("BE", "BEL", 56);
-    add("BZ", "BLZ", 84);
-    add("BJ", "BEN", 204);
-    add("BM", "BMU", 60);
-    add("BT", "BTN", 64);
-    add("BO", "BOL", 68);
-    add("BQ", "BES", 535);
-    add("BA", "BIH", 70);
-    add("BW", "BWA", 72);
-    add("BV", "BVT", 74);
-    add("BR", "BRA", 76);
-    add("IO", "IOT", 86);
-    add("BN", "BRN", 96);
-    add("BG", "BGR", 100);
-    add("BF", "BFA", 854);
-    add("BI", "BDI", 108);
-    add("CV", "CPV", 132);
-    add("KH", "KHM", 116);
-    add("CM", "CMR", 120);
-    add("CA", "CAN", 124);
-    add("KY", "CYM", 136);
-    add("CF", "CAF", 140);
-    add("TD", "TCD", 148);
-    add("CL", "CHL", 152);
-    add("CN", "CHN", 156);
-    add("CX", "CXR", 162);
-    add("CC", "CCK", 166);
-    add("CO", "COL", 170);
-    add("KM", "COM", 174);
-    add("CD", "COD", 180);
-    add("CG", "COG", 178);
-    add("CK", "COK", 184);
-    add("CR", "CRI", 188);
-    add("HR", "HRV", 191);
-    add("CU", "CUB", 192);
-    add("CW", "CUW", 531);
-    add("CY", "CYP", 196);
-    add("CZ", "CZE", 203);
-    add("CI", "CIV", 384);
-    add("DK", "DNK", 208);
-    add("DJ", "DJI", 262);
-    add("DM", "DMA", 212);
-    add("DO", "DOM", 214);
-    add("EC", "ECU", 218);
-    add("EG", "EGY", 818);
-    add("SV", "SLV", 222);
-    add("GQ", "GNQ", 226);
-    add("ER", "ERI", 232);
-    add("EE", "EST", 233);
-    add("SZ", "SWZ", 748);
-    add("ET", "ETH", 231);
-    add("FK", "FLK", 238);
-    add("FO", "FRO", 234);
-    add("FJ", "FJI", 242);
-    add("FI", "FIN", 246);
-    add("FR", "FRA", 250);
-    add("GF", "GUF", 254);
-    add("PF", "PYF", 258);
-    add("TF", "ATF", 260);
-    add("GA", "GAB", 266);
-    add("GM", "GMB", 270);
-    add("GE", "GEO", 268);
-    add("DE", "DEU", 276);
-    add("GH", "GHA", 288);
-    add("GI", "GIB", 292);
-    add("GR", "GRC", 300);
-    add("GL", "GRL", 304);
-    add("GD", "GRD", 308);
-    add("GP", "GLP", 312);
-    add("GU", "GUM", 316);
-    add("GT", "GTM", 320);
-    add("GG", "GGY", 831);
-    add("GN", "GIN", 324);
-    add("GW", "GNB", 624);
-    add("GY", "GUY", 328);
-    add("HT", "HTI", 332);
-    add("HM", "HMD", 334);
-    add("VA", "VAT", 336);
-    add("HN", "HND", 340);
-    add("HK", "HKG", 344);
-    add("HU", "HUN", 348);
-    add("IS", "ISL", 352);
-    add("IN", "IND", 356);
-    add("ID", "IDN", 360);
-    add("IR", "IRN", 364);
-    add("IQ", "IRQ", 368);
-    add("IE", "IRL", 372);
-    add("IM", "IMN", 833);
-    add("IL", "ISR", 376);
-    add("IT", "ITA", 380);
-    add("JM", "JAM", 388);
-    add("JP", "JPN", 392);
-    add("JE", "JEY", 832);
-    add("JO", "JOR", 400);
-    add("KZ", "KAZ", 398);
-    add("KE", "KEN", 404);
-    add("KI", "KIR", 296);
-    add("KP", "PRK", 408);
-    add("KR", "KOR", 410);
-    add("KW", "KWT", 414);
-    add("KG", "KGZ", 417);
-    add("LA", "LAO", 418);
-    add("LV", "LVA", 428);
-    add("LB", "LBN", 422);
-    add("LS", "LSO", 426);
-    add("LR", "LBR", 430);
-    add("LY", "LBY", 434);
-    add("LI", "LIE", 438);
-    add("LT", "LTU", 440);
-    add("LU", "LUX", 442);
-    add("MO", "MAC", 446);
-    add("MG", "MDG", 450);
-    add("MW", "MWI", 454);
-    add("MY", "MYS", 458);
-    add("MV", "MDV", 462);
-    add("ML", "MLI", 466);
-    add("MT", "MLT", 470);
-    add("MH", "MHL", 584);
-    add("MQ", "MTQ", 474);
-    add("MR", "MRT", 478);
-    add("MU", "MUS", 480);
-    add("YT", "MYT", 175);
-    add("MX", "MEX", 484);
-    add("FM", "FSM", 583);
-    add("MD", "MDA", 498);
-    add("MC", "MCO", 492);
-    add("MN", "MNG", 496);
-    add("ME", "MNE", 499);
-    add("MS", "MSR", 500);
-    add("MA", "MAR", 504);
-    add("MZ", "MOZ", 508);
-    add("MM", "MMR", 104);
-    add("NA", "NAM", 516);
-    add("NR", "NRU", 520);
-    add("NP", "NPL", 524);
-    add("NL", "NLD", 528);
-    add("NC", "NCL", 540);
-    add("NZ", "NZL", 554);
-    add("NI", "NIC", 558);
-    add("NE", "NER", 562);
-    add("NG", "NGA", 566);
-    add("NU", "NIU", 570);
-    add("NF", "NFK", 574);
-    add("MK", "MKD", 807);
-    add("MP", "MNP", 580);
-    add("NO", "NOR", 578);
-    add("OM", "OMN", 512);
-    add("PK", "PAK", 586);
-    add("PW", "PLW", 585);
-    add("PS", "PSE", 275);
-    add("PA", "PAN", 591);
-    add("PG", "PNG", 598);
-    add("PY", "PRY", 600);
-    add("PE", "PER", 604);
-    add("PH", "PHL", 608);
-    add("PN", "PCN", 612);
-    add("PL", "POL", 616);
-    add("PT", "PRT", 620);
-    add("PR", "PRI", 630);
-    add("QA", "QAT", 634);
-    add("RO", "ROU", 642);
-    add("RU", "RUS", 643);
-    add("RW", "RWA", 646);
-    add("RE", "REU", 638);
-    add("BL", "BLM", 652);
-    add("SH", "SHN", 654);
-    add("KN", "KNA", 659);
-    add("LC", "LCA", 662);
-    add("MF", "MAF", 663);
-    add("PM", "SPM", 666);
-    add("VC", "VCT", 670);
-    add("WS", "WSM", 882);
-    add("SM", "SMR", 674);
-    add("ST", "STP", 678);
-    add("SA", "SAU", 682);
-    add("SN", "SEN", 686);
-    add("RS", "SRB", 688);
-    add("SC", "SYC", 690);
-    add("SL", "SLE", 694);
-    add("SG", "SGP", 702);
-    add("SX", "SXM", 534);
-    add("SK", "SVK", 703);
-    add("SI", "SVN", 705);
-    add("SB", "SLB", 90);
-    add("SO", "SOM", 706);
-    add("ZA", "ZAF", 710);
-    add("GS", "SGS", 239);
-    add("SS", "SSD", 728);
-    add("ES", "ESP", 724);
-    add("LK", "LKA", 144);
-    add("SD", "SDN", 729);
-    add("SR", "SUR", 740);
-    add("SJ", "SJM", 744);
-    add("SE", "SWE", 752);
-    add("CH", "CHE", 756);
-    add("SY", "SYR", 760);
-    add("TW", "TWN", 158);
-    add("TJ", "TJK", 762);
-    add("TZ", "TZA", 834);
-    add("TH", "THA", 764);
-    add("TL", "TLS", 626);
-    add("TG", "TGO", 768);
-    add("TK", "TKL", 772);
-    add("TO", "TON", 776);
-    add("TT", "TTO", 780);
-    add("TN", "TUN", 788);
-    add("TM", "TKM", 795);
-    add("TC", "TCA", 796);
-    add("TV", "TUV", 798);
-    add("TR", "TUR", 792);
-    add("UG", "UGA", 800);
-    add("UA", "UKR", 804);
-    add("AE", "ARE", 784);
-    add("GB", "GBR", 826);
-    add("UM", "UMI", 581);
-    add("US", "USA", 840);
-    add("UY", "URY", 858);
-    add("UZ", "UZB", 860);
-    add("VU", "VUT", 548);
-    add("VE", "VEN", 862);
-    add("VN", "VNM", 704);
-    add("VG", "VGB", 92);
-    add("VI", "VIR", 850);
-    add("WF", "WLF", 876);
-    add("EH", "ESH", 732);
-    add("YE", "YEM", 887);
-    add("ZM", "ZMB", 894);
-    add("ZW", "ZWE", 716);
-    add("AX", "ALA", 248);
+    for (int i = 0; i < LocaleCountryData.COUNT; i++) {
+      int index = alpha2Index(LocaleCountryData.ALPHA2, i * 2, i * 2 + 2);
+      alpha2ToRow[index] = (short) (i + 1);
+      alpha3ToAlpha2[alpha3Index(LocaleCountryData.ALPHA3, i * 3, i * 3 + 3)] =
+          (short) (index + 1);
+      numericToAlpha2[LocaleCountryData.NUMERIC.charAt(i)] = (short) (index + 1);
+    }
   }
 
   /**
@@ -310,6 +94,262 @@ public class LocaleCountryConverter {
    *     successful.
    */
   public static Optional<String> convertToISO3166Code(String countryCode) {
-    return Optional.ofNullable(conversions.get(countryCode.toUpperCase()));
+    return convertToISO3166Code(countryCode, 0, countryCode.length());
+  }
+
+  /**
+   * Converts a country code to its corresponding ISO 3166-1 alpha-2 code.
+   *
+   * <p>Letters are matched case-insensitively and numeric codes may be zero-padded (e.g., "032" and
+   * "32" are equivalent). No objects are allocated during the conversion.
+   *
+   * @param countryCode The country code to be converted, in any of the formats accepted by
+   *     {@link #convertToISO3166Code(String)}.
+   * @return An {@code Optional} containing the ISO 3166-1 alpha-2 code if the conversion is
+   *     successful.
+   */
+  public static Optional<String> convertToISO3166Code(CharSequence countryCode) {
+    return convertToISO3166Code(countryCode, 0, countryCode.length());
+  }
+
+  /**
+   * Converts the country code contained in a region of a character sequence to its corresponding
+   * ISO 3166-1 alpha-2 code.
+   *
+   * <p>This method allows converting slices of a reusable buffer without creating intermediate
+   * strings. Letters are matched case-insensitively and numeric codes may be zero-padded.
+   *
+   * @param buffer the character sequence that contains the country code
+   * @param start the index of the first character of the country code
+   * @param end the index after the last character of the country code
+   * @return An {@code Optional} containing the ISO 3166-1 alpha-2 code if the conversion is
+   *     successful.
+   * @throws IndexOutOfBoundsException if {@code start} or {@code end} are out of range
+   */
+  public static Optional<String> convertToISO3166Code(CharSequence buffer, int start, int end) {
+    int index = indexOf(buffer, start, end);
+    return index >= 0 ? getCode(index) : Optional.empty();
+  }
+
+  /**
+   * Converts a country code to its corresponding lower-case ISO 3166-1 alpha-2 code, as used by
+   * flag icon class names.
+   *
+   * <p>The code is resolved from a precomputed table without allocating any objects, which makes
+   * this method suitable for being called once per rendered item.
+   *
+   * @param countryCode The country code to be converted, in any of the formats accepted by
+   *     {@link #convertToISO3166Code(String)}.
+   * @return the lower-case ISO 3166-1 alpha-2 code, or {@code null} if the country code is not
+   *     known.
+   */
+  public static String convertToFlagCode(String countryCode) {
+    int index = indexOf(countryCode, 0, countryCode.length());
+    return index >= 0 ? getFlagCode(index) : null;
+  }
+
+  /**
+   * Converts country codes in bulk to their corresponding ISO 3166-1 alpha-2 codes.
+   *
+   * <p>The code at each position of {@code countryCodes} is converted as by
+   * {@link #convertToISO3166Code(CharSequence)}, and the result is stored at the same position of
+   * {@code output}, or {@code null} if the country code is not known. No objects are allocated
+   * for each element.
+   *
+   * @param countryCodes the country codes to be converted, in any of the formats accepted by
+   *     {@link #convertToISO3166Code(String)}
+   * @param output the array where the alpha-2 codes are stored
+   * @return the number of country codes that were converted
+   * @throws IndexOutOfBoundsException if {@code output} is shorter than {@code countryCodes}
+   */
+  public static int convertToISO3166Codes(CharSequence[] countryCodes, String[] output) {
+    if (output.length < countryCodes.length) {
+      throw new IndexOutOfBoundsException(
+          "output length " + output.length + ", input length " + countryCodes.length);
+    }
+
+    int converted = 0;
+    for (int i = 0; i < countryCodes.length; i++) {
+      int index = indexOf(countryCodes[i], 0, countryCodes[i].length());
+      if (index >= 0) {
+        output[i] = getCode(index).get();
+        converted++;
+      } else {
+        output[i] = null;
+      }
+    }
+    return converted;
+  }
+
+  /**
+   * Converts a stream of country codes in bulk to their corresponding ISO 3166-1 alpha-2 codes.
+   *
+   * <p>The codes are converted as by {@link #convertToISO3166Codes(CharSequence[], String[])}, and
+   * the results are stored in {@code output} in encounter order.
+   *
+   * @param countryCodes the country codes to be converted
+   * @param output the array where the alpha-2 codes are stored
+   * @return the number of country codes that were converted
+   * @throws IndexOutOfBoundsException if the stream has more elements than {@code output}
+   */
+  public static int convertToISO3166Codes(Stream<? extends CharSequence> countryCodes,
+      String[] output) {
+    int[] counts = new int[2];
+    countryCodes.forEachOrdered(countryCode -> {
+      int index = indexOf(countryCode, 0, countryCode.length());
+      output[counts[0]++] = index >= 0 ? getCode(index).get() : null;
+      if (index >= 0) {
+        counts[1]++;
+      }
+    });
+    return counts[1];
+  }
+
+  /**
+   * Converts a country code to its corresponding ISO 3166-1 alpha-3 code.
+   *
+   * @param countryCode The country code to be converted, in any of the formats accepted by
+   *     {@link #convertToISO3166Code(String)}.
+   * @return the ISO 3166-1 alpha-3 code, or {@code null} if the country code is not known.
+   */
+  public static String convertToAlpha3Code(CharSequence countryCode) {
+    int index = indexOf(countryCode, 0, countryCode.length());
+    if (index < 0) {
+      return null;
+    }
+
+    String alpha3 = alpha3Codes[index];
+    if (alpha3 == null) {
+      int row = alpha2ToRow[index] - 1;
+      alpha3 = LocaleCountryData.ALPHA3.substring(row * 3, row * 3 + 3);
+      alpha3Codes[index] = alpha3;
+    }
+    return alpha3;
+  }
+
+  /**
+   * Converts a country code to its corresponding ISO 3166-1 numeric code.
+   *
+   * @param countryCode The country code to be converted, in any of the formats accepted by
+   *     {@link #convertToISO3166Code(String)}.
+   * @return the ISO 3166-1 numeric code, or {@code -1} if the country code is not known.
+   */
+  public static int convertToNumericCode(CharSequence countryCode) {
+    int index = indexOf(countryCode, 0, countryCode.length());
+    return index >= 0 ? LocaleCountryData.NUMERIC.charAt(alpha2ToRow[index] - 1) : -1;
+  }
+
+  private static Optional<String> getCode(int index) {
+    Optional<String> code = codes[index];
+    if (code == null) {
+      code = Optional.of(getFlagCode(index).toUpperCase(Locale.ROOT));
+      codes[index] = code;
+    }
+    return code;
+  }
+
+  private static String getFlagCode(int index) {
+    String flagCode = flagCodes[index];
+    if (flagCode == null) {
+      flagCode = new String(new char[] {(char) ('a' + index / 26), (char) ('a' + index % 26)});
+      flagCodes[index] = flagCode;
+    }
+    return flagCode;
+  }
+
+  /**
+   * Returns the {@link #alpha2Index} of the country identified by a country code.
+   *
+   * @return the alpha-2 index, or {@code -1} if the country code is not known
+   */
+  private static int indexOf(CharSequence code, int start, int end) {
+    if (start < 0 || end > code.length() || start > end) {
+      throw new IndexOutOfBoundsException(
+          "start " + start + ", end " + end + ", length " + code.length());
+    }
+
+    int index;
+    switch (end - start) {
+      case 2:
+        index = alpha2Index(code, start, end);
+        if (index >= 0) {
+          return alpha2ToRow[index] != 0 ? index : -1;
+        }
+        break;
+      case 3:
+        index = alpha3Index(code, start, end);
+        if (index >= 0) {
+          return alpha3ToAlpha2[index] - 1;
+        }
+        break;
+      default:
+        break;
+    }
+
+    index = numericIndex(code, start, end);
+    return index >= 0 ? numericToAlpha2[index] - 1 : -1;
+  }
+
+  /**
+   * Packs a two-letter code (in any case) into an index in the range {@code [0, 26^2)}.
+   *
+   * @return the packed index, or {@code -1} if the code is not made of two ASCII letters
+   */
+  private static int alpha2Index(CharSequence code, int start, int end) {
+    return lettersIndex(code, start, end, 2);
+  }
+
+  /**
+   * Packs a three-letter code (in any case) into an index in the range {@code [0, 26^3)}.
+   *
+   * @return the packed index, or {@code -1} if the code is not made of three ASCII letters
+   */
+  private static int alpha3Index(CharSequence code, int start, int end) {
+    return lettersIndex(code, start, end, 3);
+  }
+
+  private static int lettersIndex(CharSequence code, int start, int end, int length) {
+    if (end - start != length) {
+      return -1;
+    }
+    int index = 0;
+    for (int i = start; i < end; i++) {
+      int letter = letterIndex(code.charAt(i));
+      if (letter < 0) {
+        return -1;
+      }
+      index = index * 26 + letter;
+    }
+    return index;
+  }
+
+  private static int letterIndex(char c) {
+    if (c >= 'A' && c <= 'Z') {
+      return c - 'A';
+    }
+    if (c >= 'a' && c <= 'z') {
+      return c - 'a';
+    }
+    return -1;
+  }
+
+  /**
+   * Parses a numeric code of one to three ASCII digits.
+   *
+   * @return the numeric value, or {@code -1} if the code is not made of one to three digits
+   */
+  private static int numericIndex(CharSequence code, int start, int end) {
+    if (end - start < 1 || end - start > 3) {
+      return -1;
+    }
+    int value = 0;
+    for (int i = start; i < end; i++) {
+      char c = code.charAt(i);
+      if (c < '0' || c > '9') {
+        return -1;
+      }
+      value = value * 10 + (c - '0');
+    }
+    return value;
   }
 }
@@ -0,0 +1,74 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+/**
+ * ISO 3166-1 country codes, packed into constant strings.
+ *
+ * <p>Generated from {@code src/main/data/iso3166.csv} by {@code LocaleCountryDataGenerator}. Do not
+ * edit.
+ */
+final class LocaleCountryData {
+
+  /** The number of countries. */
+  static final int COUNT = 249;
+
+  /** The alpha-2 codes, two characters per country. */
+  static final String ALPHA2 =
+      "AFALDZASADAOAIAQAGARAMAWAUATAZBSBHBDBBBYBEBZBJBMBTBOBQBABWBVBRIOBNBGBFBICVKHCMCAKYCFTDCL"
+      + "CNCXCCCOKMCDCGCKCRHRCUCWCYCZCIDKDJDMDOECEGSVGQEREESZETFKFOFJFIFRGFPFTFGAGMGEDEGHGIGRGLGD"
+      + "GPGUGTGGGNGWGYHTHMVAHNHKHUISINIDIRIQIEIMILITJMJPJEJOKZKEKIKPKRKWKGLALVLBLSLRLYLILTLUMOMG"
+      + "MWMYMVMLMTMHMQMRMUYTMXFMMDMCMNMEMSMAMZMMNANRNPNLNCNZNINENGNUNFMKMPNOOMPKPWPSPAPGPYPEPHPN"
+      + "PLPTPRQARORURWREBLSHKNLCMFPMVCWSSMSTSASNRSSCSLSGSXSKSISBSOZAGSSSESLKSDSRSJSECHSYTWTJTZTH"
+      + "TLTGTKTOTTTNTMTCTVTRUGUAAEGBUMUSUYUZVUVEVNVGVIWFEHYEZMZWAX";
+
+  /** The alpha-3 codes, three characters per country. */
+  static final String ALPHA3 =
+      "AFGALBDZAASMANDAGOAIAATAATGARGARMABWAUSAUTAZEBHSBHRBGDBRBBLRBELBLZBENBMUBTNBOLBESBIHBWA"
+      + "BVTBRAIOTBRNBGRBFABDICPVKHMCMRCANCYMCAFTCDCHLCHNCXRCCKCOLCOMCODCOGCOKCRIHRVCUBCUWCYPCZE"
+      + "CIVDNKDJIDMADOMECUEGYSLVGNQERIESTSWZETHFLKFROFJIFINFRAGUFPYFATFGABGMBGEODEUGHAGIBGRCGRL"
+      + "GRDGLPGUMGTMGGYGINGNBGUYHTIHMDVATHNDHKGHUNISLINDIDNIRNIRQIRLIMNISRITAJAMJPNJEYJORKAZKEN"
+      + "KIRPRKKORKWTKGZLAOLVALBNLSOLBRLBYLIELTULUXMACMDGMWIMYSMDVMLIMLTMHLMTQMRTMUSMYTMEXFSMMDA"
+      + "MCOMNGMNEMSRMARMOZMMRNAMNRUNPLNLDNCLNZLNICNERNGANIUNFKMKDMNPNOROMNPAKPLWPSEPANPNGPRYPER"
+      + "PHLPCNPOLPRTPRIQATROURUSRWAREUBLMSHNKNALCAMAFSPMVCTWSMSMRSTPSAUSENSRBSYCSLESGPSXMSVKSVN"
+      + "SLBSOMZAFSGSSSDESPLKASDNSURSJMSWECHESYRTWNTJKTZATHATLSTGOTKLTONTTOTUNTKMTCATUVTURUGAUKR"
+      + "AREGBRUMIUSAURYUZBVUTVENVNMVGBVIRWLFESHYEMZMBZWEALA";
+
+  /** The numeric codes, one character per country. */
+  static final String NUMERIC =
+      "\004\010\014\020\024\030\u0294\012\034\040\063\u0215\044\050\037\054\060\062\064\160\070"
+      + "\124\314\074\100\104\u0217\106\110\112\114\126\140\144\u0356\154\204\164\170\174\210\214"
+      + "\224\230\234\242\246\252\256\264\262\270\274\277\300\u0213\304\313\u0180\320\u0106\324"
+      + "\326\332\u0332\336\342\350\351\u02ec\347\356\352\362\366\372\376\u0102\u0104\u010a\u010e"
+      + "\u010c\u0114\u0120\u0124\u012c\u0130\u0134\u0138\u013c\u0140\u033f\u0144\u0270\u0148"
+      + "\u014c\u014e\u0150\u0154\u0158\u015c\u0160\u0164\u0168\u016c\u0170\u0174\u0341\u0178"
+      + "\u017c\u0184\u0188\u0340\u0190\u018e\u0194\u0128\u0198\u019a\u019e\u01a1\u01a2\u01ac"
+      + "\u01a6\u01aa\u01ae\u01b2\u01b6\u01b8\u01ba\u01be\u01c2\u01c6\u01ca\u01ce\u01d2\u01d6"
+      + "\u0248\u01da\u01de\u01e0\257\u01e4\u0247\u01f2\u01ec\u01f0\u01f3\u01f4\u01f8\u01fc\150"
+      + "\u0204\u0208\u020c\u0210\u021c\u022a\u022e\u0232\u0236\u023a\u023e\u0327\u0244\u0242"
+      + "\u0200\u024a\u0249\u0113\u024f\u0256\u0258\u025c\u0260\u0264\u0268\u026c\u0276\u027a"
+      + "\u0282\u0283\u0286\u027e\u028c\u028e\u0293\u0296\u0297\u029a\u029e\u0372\u02a2\u02a6"
+      + "\u02aa\u02ae\u02b0\u02b2\u02b6\u02be\u0216\u02bf\u02c1\132\u02c2\u02c6\357\u02d8\u02d4"
+      + "\220\u02d9\u02e4\u02e8\u02f0\u02f4\u02f8\236\u02fa\u0342\u02fc\u0272\u0300\u0304\u0308"
+      + "\u030c\u0314\u031b\u031c\u031e\u0318\u0320\u0324\u0310\u033a\u0245\u0348\u035a\u035c"
+      + "\u0224\u035e\u02c0\134\u0352\u036c\u02dc\u0377\u037e\u02cc\370";
+
+  private LocaleCountryData() {}
+}
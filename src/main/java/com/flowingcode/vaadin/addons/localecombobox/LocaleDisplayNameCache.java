@@ -0,0 +1,301 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Application-wide cache of locale display names, shared by all {@link LocaleComboBox} instances.
+ *
+ * <p>Entries are keyed by the pair (item locale, display locale), so that
+ * {@link Locale#getDisplayName(Locale)} and {@link Locale#getDisplayCountry(Locale)} are computed
+ * once per pair per JVM instead of once per rendered row. The two names of a pair are computed
+ * separately, the first time each of them is requested.
+ *
+ * <p>The cache is bounded: when the number of entries exceeds {@link #getMaximumSize()}, entries
+ * are evicted in approximately least-recently-used order. Eviction uses the second-chance (clock)
+ * algorithm: entries are visited in insertion order, and an entry that was read since it was last
+ * visited is moved to the back of the queue instead of being evicted. Reading an entry is thus a
+ * lock-free map lookup and a flag write.
+ *
+ * <p>If a {@link LocaleTableSnapshot} is loaded, the names that are not cached are read from the
+ * snapshot before computing them.
+ *
+ * <p>The class uses static methods, so no instances are needed.
+ *
+ * <p>
+ * Example usage:
+ *
+ * <pre>
+ * LocaleDisplayNameCache.setMaximumSize(10_000);
+ * String name = LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.KOREA);
+ * </pre>
+ */
+public class LocaleDisplayNameCache {
+
+  /** The default maximum number of (item locale, display locale) pairs kept in the cache. */
+  public static final int DEFAULT_MAXIMUM_SIZE = 50_000;
+
+  private record Key(Locale locale, Locale displayLocale) {}
+
+  /** The names of a pair, each of them computed on first use. */
+  private static final class Names {
+
+    volatile String displayName;
+
+    volatile String displayCountry;
+
+    /** Whether the entry was read since the eviction last visited it. */
+    volatile boolean referenced;
+  }
+
+  /**
+   * Statistics of a {@linkplain #prewarm(Collection, Collection, Executor) pre-warm} of the cache.
+   *
+   * @param names the number of (item locale, display locale) pairs that were requested
+   * @param computed the number of pairs whose names were computed, because they were not cached
+   * @param elapsed the time elapsed from the start of the pre-warm until its completion
+   */
+  public record PrewarmStatistics(int names, int computed, Duration elapsed) {}
+
+  private static final Map<Key, Names> entries = new ConcurrentHashMap<>();
+
+  /** The keys of the entries, in the order in which the eviction visits them. */
+  private static final Queue<Key> insertionOrder = new ConcurrentLinkedQueue<>();
+
+  private static final LongAdder hits = new LongAdder();
+
+  private static final LongAdder misses = new LongAdder();
+
+  private static volatile int maximumSize = DEFAULT_MAXIMUM_SIZE;
+
+  /**
+   * Returns the name of {@code locale} formatted for {@code displayLocale}.
+   *
+   * @param locale the locale whose name is requested
+   * @param displayLocale the locale used for formatting the name
+   * @return the same value as {@code locale.getDisplayName(displayLocale)}
+   */
+  public static String getDisplayName(Locale locale, Locale displayLocale) {
+    Names names = getEntry(locale, displayLocale);
+    String displayName = names.displayName;
+    if (displayName != null) {
+      hit(locale, displayLocale);
+      return displayName;
+    }
+    miss(locale, displayLocale);
+    displayName = lookupSnapshot(locale, displayLocale, LocaleTableSnapshot.DISPLAY_NAME);
+    names.displayName =
+        displayName = displayName != null ? displayName : locale.getDisplayName(displayLocale);
+    return displayName;
+  }
+
+  /**
+   * Returns the country name of {@code locale} formatted for {@code displayLocale}.
+   *
+   * @param locale the locale whose country name is requested
+   * @param displayLocale the locale used for formatting the name
+   * @return the same value as {@code locale.getDisplayCountry(displayLocale)}
+   */
+  public static String getDisplayCountry(Locale locale, Locale displayLocale) {
+    Names names = getEntry(locale, displayLocale);
+    String displayCountry = names.displayCountry;
+    if (displayCountry != null) {
+      hit(locale, displayLocale);
+      return displayCountry;
+    }
+    miss(locale, displayLocale);
+    displayCountry = lookupSnapshot(locale, displayLocale, LocaleTableSnapshot.DISPLAY_COUNTRY);
+    names.displayCountry = displayCountry =
+        displayCountry != null ? displayCountry : locale.getDisplayCountry(displayLocale);
+    return displayCountry;
+  }
+
+  private static void hit(Locale locale, Locale displayLocale) {
+    hits.increment();
+    LocaleComboBoxMetrics.getListener().displayNameCacheHit(locale, displayLocale);
+  }
+
+  private static void miss(Locale locale, Locale displayLocale) {
+    misses.increment();
+    LocaleComboBoxMetrics.getListener().displayNameCacheMiss(locale, displayLocale);
+  }
+
+  private static String lookupSnapshot(Locale locale, Locale displayLocale, int column) {
+    LocaleTableSnapshot snapshot = LocaleTableSnapshot.current;
+    return snapshot != null ? snapshot.get(locale, displayLocale, column) : null;
+  }
+
+  /** Returns the entry of a pair, adding an empty one if the pair is not cached. */
+  private static Names getEntry(Locale locale, Locale displayLocale) {
+    Key key = new Key(locale, displayLocale);
+    Names names = entries.get(key);
+    if (names != null) {
+      if (!names.referenced) {
+        names.referenced = true;
+      }
+      return names;
+    }
+
+    names = new Names();
+    Names previous = entries.putIfAbsent(key, names);
+    if (previous != null) {
+      return previous;
+    }
+    insertionOrder.add(key);
+    evict();
+    return names;
+  }
+
+  /**
+   * Computes the names of the given locales for each display locale, and adds them to the cache.
+   * Each display locale is processed as a separate task of the given executor, so that the
+   * resource bundles of different display locales are loaded in parallel.
+   *
+   * <p>The names are cached only while there is room for them: if the number of pairs exceeds
+   * {@link #getMaximumSize()}, the least recently used pairs are evicted as usual.
+   *
+   * @param locales the locales whose names are computed
+   * @param displayLocales the locales used for formatting the names
+   * @param executor the executor that runs the tasks
+   * @return a future that is completed with the statistics of the pre-warm when all the names
+   *     have been computed
+   */
+  public static CompletableFuture<PrewarmStatistics> prewarm(Collection<Locale> locales,
+      Collection<Locale> displayLocales, Executor executor) {
+    long start = System.nanoTime();
+    List<Locale> items = List.copyOf(locales);
+    LongAdder computed = new LongAdder();
+    CompletableFuture<?>[] tasks = displayLocales.stream().distinct()
+        .map(displayLocale -> CompletableFuture.runAsync(() -> {
+          for (Locale locale : items) {
+            if (!entries.containsKey(new Key(locale, displayLocale))) {
+              computed.increment();
+            }
+            getDisplayName(locale, displayLocale);
+            getDisplayCountry(locale, displayLocale);
+          }
+        }, executor))
+        .toArray(CompletableFuture[]::new);
+
+    return CompletableFuture.allOf(tasks).thenApply(v -> new PrewarmStatistics(
+        tasks.length * items.size(), computed.intValue(),
+        Duration.ofNanos(System.nanoTime() - start)));
+  }
+
+  /**
+   * Returns the search key of the name of {@code locale} formatted for {@code displayLocale}, from
+   * the {@linkplain LocaleTableSnapshot snapshot} if it contains the pair, or computed otherwise.
+   */
+  static String getSearchKey(Locale locale, Locale displayLocale) {
+    LocaleTableSnapshot snapshot = LocaleTableSnapshot.current;
+    String searchKey = snapshot != null
+        ? snapshot.get(locale, displayLocale, LocaleTableSnapshot.SEARCH_KEY)
+        : null;
+    return searchKey != null ? searchKey
+        : SearchKeyNormalizer.normalize(getDisplayName(locale, displayLocale), displayLocale);
+  }
+
+  private static void evict() {
+    while (entries.size() > maximumSize) {
+      Key eldest = insertionOrder.poll();
+      if (eldest == null) {
+        return;
+      }
+      Names names = entries.get(eldest);
+      if (names != null && names.referenced && maximumSize > 0) {
+        // second chance: the entry was read since it was last visited
+        names.referenced = false;
+        insertionOrder.add(eldest);
+      } else {
+        entries.remove(eldest);
+      }
+    }
+  }
+
+  /**
+   * Returns the maximum number of entries kept in the cache.
+   *
+   * @return the maximum number of entries
+   */
+  public static int getMaximumSize() {
+    return maximumSize;
+  }
+
+  /**
+   * Sets the maximum number of entries kept in the cache. If the cache currently holds more
+   * entries, the least recently used ones are evicted immediately.
+   *
+   * @param maximumSize the maximum number of entries, {@code 0} disables caching
+   * @throws IllegalArgumentException if {@code maximumSize} is negative
+   */
+  public static void setMaximumSize(int maximumSize) {
+    if (maximumSize < 0) {
+      throw new IllegalArgumentException("maximumSize must not be negative");
+    }
+    LocaleDisplayNameCache.maximumSize = maximumSize;
+    evict();
+  }
+
+  /**
+   * Returns the number of entries currently held in the cache.
+   *
+   * @return the number of entries
+   */
+  public static int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the number of lookups that were answered from the cache.
+   *
+   * @return the hit count
+   */
+  public static long getHitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Returns the number of lookups that required computing the names.
+   *
+   * @return the miss count
+   */
+  public static long getMissCount() {
+    return misses.sum();
+  }
+
+  /** Removes all entries from the cache and resets the hit and miss counters. */
+  public static void clear() {
+    entries.clear();
+    insertionOrder.clear();
+    hits.reset();
+    misses.reset();
+  }
+}
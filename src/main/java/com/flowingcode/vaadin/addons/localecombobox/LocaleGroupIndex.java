@@ -0,0 +1,125 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Two-level index over the locales of a catalog, grouped by language.
+ *
+ * <p>The first level is a {@link LocaleSearchIndex} over one locale per language. The second level
+ * indexes the region variants of a language, and is built only when the filter narrows the list
+ * down to that language. Thus, showing the list of languages costs O(number of languages),
+ * regardless of the number of locales in the catalog.
+ *
+ * <p>The filter text narrows down to a language when exactly one language name starts with it, or
+ * when it starts with the name of a language (e.g. "spanish (" narrows down to Spanish). In that
+ * case, the language is listed followed by its variants whose names start with the filter text.
+ * Otherwise, only the languages whose names start with the filter text are listed.
+ */
+final class LocaleGroupIndex {
+
+  private final LocaleSearchIndex languages;
+
+  private final Map<String, List<Locale>> groups;
+
+  private final Function<Locale, String> keyFunction;
+
+  private final Map<String, LocaleSearchIndex> variants = new ConcurrentHashMap<>();
+
+  /**
+   * Creates an index over groups of locales.
+   *
+   * @param groups the region variants of each language, by language code
+   * @param keyFunction computes the search key of each locale
+   */
+  LocaleGroupIndex(Map<String, List<Locale>> groups, Function<Locale, String> keyFunction) {
+    this.groups = groups;
+    this.keyFunction = keyFunction;
+    languages = LocaleSearchIndex.build(
+        groups.keySet().stream().map(LocaleGroupIndex::getLanguageLocale).toList(), keyFunction);
+  }
+
+  /** Returns the locale that represents a language in the first level of the index. */
+  static Locale getLanguageLocale(String language) {
+    return new Locale(language);
+  }
+
+  /**
+   * Returns the number of entries that match {@code prefix}.
+   *
+   * @param prefix the prefix, already converted into the same form as the keys
+   */
+  int count(String prefix) {
+    Locale language = getExpandedLanguage(prefix);
+    if (language == null) {
+      return languages.count(prefix);
+    }
+    return (isLanguageListed(language, prefix) ? 1 : 0)
+        + getVariants(language).count(prefix);
+  }
+
+  /**
+   * Returns a page of the entries that match {@code prefix}.
+   *
+   * @param prefix the prefix, already converted into the same form as the keys
+   * @param offset the index of the first entry to return
+   * @param limit the maximum number of entries to return
+   */
+  Stream<Locale> fetch(String prefix, int offset, int limit) {
+    Locale language = getExpandedLanguage(prefix);
+    if (language == null) {
+      return languages.fetch(prefix, offset, limit);
+    }
+    if (!isLanguageListed(language, prefix)) {
+      return getVariants(language).fetch(prefix, offset, limit);
+    }
+    if (offset == 0) {
+      return limit == 0 ? Stream.empty()
+          : Stream.concat(Stream.of(language), getVariants(language).fetch(prefix, 0, limit - 1));
+    }
+    return getVariants(language).fetch(prefix, offset - 1, limit);
+  }
+
+  /** Returns the language that {@code prefix} narrows down to, or {@code null} if none. */
+  private Locale getExpandedLanguage(String prefix) {
+    if (prefix.isEmpty()) {
+      return null;
+    }
+    if (languages.count(prefix) == 1) {
+      return languages.fetch(prefix, 0, 1).findFirst().orElseThrow();
+    }
+    return languages.findKeyPrefixOf(prefix);
+  }
+
+  private boolean isLanguageListed(Locale language, String prefix) {
+    return keyFunction.apply(language).startsWith(prefix);
+  }
+
+  private LocaleSearchIndex getVariants(Locale language) {
+    return variants.computeIfAbsent(language.getLanguage(),
+        lang -> LocaleSearchIndex.build(groups.get(lang), keyFunction));
+  }
+}
@@ -0,0 +1,87 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Application-wide table of the names of locales in their own language, as displayed in
+ * {@link DisplayMode#NATIVE} mode.
+ *
+ * <p>Since each locale is named with a different display locale, the names would otherwise take
+ * one entry per locale in {@link LocaleDisplayNameCache}, competing for room with the other display
+ * modes, and a resource bundle lookup whenever they are evicted. This table has exactly one entry
+ * per locale, which is computed the first time the locale is requested and never evicted. If a
+ * {@link LocaleTableSnapshot} is loaded, the names are read from the snapshot when it contains
+ * them.
+ */
+final class LocaleNativeNameTable {
+
+  private record Names(String displayName, String displayCountry, String searchKey) {}
+
+  /** Orders locales by their native names, ignoring case and diacritics. */
+  static final Comparator<Locale> ORDER = Comparator
+      .comparing(LocaleNativeNameTable::getSearchKey)
+      .thenComparing(LocaleNativeNameTable::getDisplayName)
+      .thenComparing(Locale::toLanguageTag);
+
+  private static final Map<Locale, Names> entries = new ConcurrentHashMap<>();
+
+  private LocaleNativeNameTable() {}
+
+  /** Returns the name of {@code locale} in its own language. */
+  static String getDisplayName(Locale locale) {
+    return lookup(locale).displayName();
+  }
+
+  /** Returns the country name of {@code locale} in its own language. */
+  static String getDisplayCountry(Locale locale) {
+    return lookup(locale).displayCountry();
+  }
+
+  /** Returns the search key of the name of {@code locale} in its own language. */
+  static String getSearchKey(Locale locale) {
+    return lookup(locale).searchKey();
+  }
+
+  private static Names lookup(Locale locale) {
+    Names names = entries.get(locale);
+    return names != null ? names : entries.computeIfAbsent(locale, LocaleNativeNameTable::compute);
+  }
+
+  private static Names compute(Locale locale) {
+    LocaleTableSnapshot snapshot = LocaleTableSnapshot.current;
+    if (snapshot != null) {
+      String displayName = snapshot.get(locale, locale, LocaleTableSnapshot.DISPLAY_NAME);
+      if (displayName != null) {
+        return new Names(displayName,
+            snapshot.get(locale, locale, LocaleTableSnapshot.DISPLAY_COUNTRY),
+            snapshot.get(locale, locale, LocaleTableSnapshot.SEARCH_KEY));
+      }
+    }
+    String displayName = locale.getDisplayName(locale);
+    return new Names(displayName, locale.getDisplayCountry(locale),
+        SearchKeyNormalizer.normalize(displayName, locale));
+  }
+}
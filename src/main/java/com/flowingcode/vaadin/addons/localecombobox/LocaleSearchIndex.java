@@ -0,0 +1,210 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Sorted prefix index over the search keys of a collection of locales.
+ *
+ * <p>Keys are kept in a sorted array, so that the locales whose key starts with a given prefix
+ * form a contiguous range that is located with two binary searches. Fetching a page costs
+ * O(log n + page size), regardless of the number of indexed locales. When a locale has several
+ * keys, the keys that repeat a locale within the range are skipped by comparing precomputed
+ * positions, without collecting the locales of the range.
+ */
+final class LocaleSearchIndex {
+
+  private record Entry(String key, Locale locale) {}
+
+  private final String[] keys;
+
+  private final Locale[] locales;
+
+  /**
+   * If a locale may have several keys, the position of the previous key of the same locale (or
+   * {@code -1}) for each key, otherwise {@code null}. A key in a range is the first one of its
+   * locale if the previous key of the locale is before the range.
+   */
+  private final int[] previous;
+
+  /** The index that lists the locales when the prefix is empty, if a locale has several keys. */
+  private final LocaleSearchIndex unfiltered;
+
+  private LocaleSearchIndex(String[] keys, Locale[] locales, int[] previous,
+      LocaleSearchIndex unfiltered) {
+    this.keys = keys;
+    this.locales = locales;
+    this.previous = previous;
+    this.unfiltered = unfiltered;
+  }
+
+  /**
+   * Builds an index over {@code locales}.
+   *
+   * @param locales the locales to index
+   * @param keyFunction computes the search key of each locale
+   */
+  static LocaleSearchIndex build(Collection<Locale> locales, Function<Locale, String> keyFunction) {
+    Entry[] entries =
+        locales.stream().map(loc -> new Entry(keyFunction.apply(loc), loc)).toArray(Entry[]::new);
+    sort(entries);
+    return new LocaleSearchIndex(keys(entries), locales(entries), null, null);
+  }
+
+  /**
+   * Builds an index over {@code locales}, where each locale may have several keys. A locale
+   * matches a prefix if any of its keys starts with it, and it is listed only once, at the
+   * position of its first matching key. Since every locale matches an empty prefix, the locales
+   * are then listed by {@code unfiltered}, in the order of a single name.
+   *
+   * @param locales the locales to index
+   * @param keysFunction computes the search keys of each locale
+   * @param unfiltered the index that lists the locales when the prefix is empty
+   */
+  static LocaleSearchIndex buildMultiValued(Collection<Locale> locales,
+      Function<Locale, ? extends Collection<String>> keysFunction, LocaleSearchIndex unfiltered) {
+    Entry[] entries = locales.stream()
+        .flatMap(loc -> keysFunction.apply(loc).stream().map(key -> new Entry(key, loc)))
+        .toArray(Entry[]::new);
+    sort(entries);
+
+    int[] previous = new int[entries.length];
+    Map<Locale, Integer> last = new HashMap<>();
+    for (int i = 0; i < entries.length; i++) {
+      Integer position = last.put(entries[i].locale(), i);
+      previous[i] = position != null ? position : -1;
+    }
+    return new LocaleSearchIndex(keys(entries), locales(entries), previous, unfiltered);
+  }
+
+  private static void sort(Entry[] entries) {
+    Arrays.sort(entries, Comparator.comparing(Entry::key));
+  }
+
+  private static String[] keys(Entry[] entries) {
+    return Arrays.stream(entries).map(Entry::key).toArray(String[]::new);
+  }
+
+  private static Locale[] locales(Entry[] entries) {
+    return Arrays.stream(entries).map(Entry::locale).toArray(Locale[]::new);
+  }
+
+  /**
+   * Returns the number of locales whose key starts with {@code prefix}.
+   *
+   * @param prefix the prefix, already converted into the same form as the keys
+   */
+  int count(String prefix) {
+    if (previous == null) {
+      return upperBound(prefix) - lowerBound(prefix);
+    }
+    if (prefix.isEmpty()) {
+      return unfiltered.count(prefix);
+    }
+    int from = lowerBound(prefix);
+    int to = upperBound(prefix);
+    int count = 0;
+    for (int i = from; i < to; i++) {
+      if (previous[i] < from) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Returns a page of the locales whose key starts with {@code prefix}, ordered by key.
+   *
+   * @param prefix the prefix, already converted into the same form as the keys
+   * @param offset the index of the first matching locale to return
+   * @param limit the maximum number of locales to return
+   */
+  Stream<Locale> fetch(String prefix, int offset, int limit) {
+    if (previous != null && prefix.isEmpty()) {
+      return unfiltered.fetch(prefix, offset, limit);
+    }
+    int from = lowerBound(prefix);
+    int to = upperBound(prefix);
+    if (previous != null) {
+      return IntStream.range(from, to).filter(i -> previous[i] < from).skip(offset).limit(limit)
+          .mapToObj(i -> locales[i]);
+    }
+    int start = (int) Math.min((long) from + offset, to);
+    int end = (int) Math.min((long) start + limit, to);
+    return Arrays.stream(locales, start, end);
+  }
+
+  /**
+   * Returns the locale with the longest key that is a prefix of {@code text}.
+   *
+   * @param text the text, already converted into the same form as the keys
+   * @return the locale, or {@code null} if no key is a prefix of {@code text}
+   */
+  Locale findKeyPrefixOf(String text) {
+    // keys that are prefixes of the text sort before it, and after any other key that starts
+    // with a different character
+    for (int i = upperBound(text) - 1; i >= 0 && !text.isEmpty() && !keys[i].isEmpty()
+        && keys[i].charAt(0) == text.charAt(0); i--) {
+      if (text.startsWith(keys[i])) {
+        return locales[i];
+      }
+    }
+    return null;
+  }
+
+  /** Returns the index of the first key that is not less than {@code prefix}. */
+  private int lowerBound(String prefix) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].compareTo(prefix) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  /** Returns the index of the first key that is greater than all the keys starting with prefix. */
+  private int upperBound(String prefix) {
+    int low = 0;
+    int high = keys.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (keys[mid].startsWith(prefix) || keys[mid].compareTo(prefix) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+}
@@ -0,0 +1,304 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Persistent snapshot of the locale names computed for a set of display locales.
+ *
+ * <p>Computing the names of every locale for a display locale requires loading the JDK's locale
+ * resource bundles, which is slow on a cold JVM. A snapshot stores the display names, country
+ * names and normalized search keys of a set of locales, formatted for a set of display locales,
+ * in a compact binary file. When the snapshot is {@linkplain #load(Path) loaded}, the file is
+ * memory-mapped and the names are read from it on demand, instead of being computed.
+ *
+ * <p>The file records the version of the JDK that computed the names. A snapshot written by a
+ * different JDK (which may ship a different CLDR release) is not loaded.
+ *
+ * <p>
+ * Example usage, at application startup:
+ *
+ * <pre>
+ * if (!LocaleTableSnapshot.load(path)) {
+ *   LocaleTableSnapshot.write(path, locales, displayLocales);
+ *   LocaleTableSnapshot.load(path);
+ * }
+ * </pre>
+ */
+public final class LocaleTableSnapshot {
+
+  static final int DISPLAY_NAME = 0;
+
+  static final int DISPLAY_COUNTRY = 1;
+
+  static final int SEARCH_KEY = 2;
+
+  private static final int COLUMNS = 3;
+
+  private static final int MAGIC = 0x46434C54;
+
+  private static final int FORMAT_VERSION = 1;
+
+  /** The snapshot in use, or {@code null} if no snapshot is loaded. */
+  static volatile LocaleTableSnapshot current;
+
+  private final ByteBuffer buffer;
+
+  private final Map<Locale, Integer> locales;
+
+  private final Map<Locale, Integer> displayLocales;
+
+  private final int tableOffset;
+
+  private final int poolOffset;
+
+  private LocaleTableSnapshot(ByteBuffer buffer, Map<Locale, Integer> locales,
+      Map<Locale, Integer> displayLocales, int tableOffset, int poolOffset) {
+    this.buffer = buffer;
+    this.locales = locales;
+    this.displayLocales = displayLocales;
+    this.tableOffset = tableOffset;
+    this.poolOffset = poolOffset;
+  }
+
+  /**
+   * Computes the names of the given locales for each display locale, and writes them to a file.
+   * Locales that cannot be identified by their language tag (e.g. those with ill-formed variants)
+   * are not included, and their names will be computed as usual.
+   *
+   * <p>The snapshot is written to a temporary file that then replaces the given one, so that a
+   * concurrent or interrupted write never leaves a partial snapshot behind, and a snapshot that
+   * is loaded from the same file keeps its contents.
+   *
+   * @param file the file where the snapshot is written
+   * @param locales the locales whose names are written
+   * @param displayLocales the locales used for formatting the names
+   * @throws IOException if the file cannot be written
+   */
+  public static void write(Path file, Collection<Locale> locales,
+      Collection<Locale> displayLocales) throws IOException {
+    List<Locale> items = locales.stream().filter(LocaleTableSnapshot::hasLanguageTag).distinct()
+        .toList();
+    List<Locale> displays = displayLocales.stream().filter(LocaleTableSnapshot::hasLanguageTag)
+        .distinct().toList();
+
+    Map<String, Integer> pool = new LinkedHashMap<>();
+    int[] table = new int[displays.size() * items.size() * COLUMNS];
+    int poolSize = 0;
+    int i = 0;
+    for (Locale displayLocale : displays) {
+      for (Locale locale : items) {
+        String displayName = locale.getDisplayName(displayLocale);
+        String[] row = {displayName, locale.getDisplayCountry(displayLocale),
+            SearchKeyNormalizer.normalize(displayName, displayLocale)};
+        for (String value : row) {
+          Integer offset = pool.putIfAbsent(value, poolSize);
+          if (offset == null) {
+            offset = poolSize;
+            poolSize += Integer.BYTES + value.getBytes(StandardCharsets.UTF_8).length;
+          }
+          table[i++] = offset;
+        }
+      }
+    }
+
+    Path directory = file.toAbsolutePath().getParent();
+    Files.createDirectories(directory);
+    Path temp = Files.createTempFile(directory, file.getFileName() + ".", ".tmp");
+    try {
+      writeTable(temp, items, displays, table, pool.keySet());
+      try {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  private static void writeTable(Path file, List<Locale> items, List<Locale> displays,
+      int[] table, Collection<String> pool) throws IOException {
+    try (DataOutputStream out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+      out.writeInt(MAGIC);
+      out.writeInt(FORMAT_VERSION);
+      writeString(out, getFingerprint());
+      out.writeInt(items.size());
+      for (Locale locale : items) {
+        writeString(out, locale.toLanguageTag());
+      }
+      out.writeInt(displays.size());
+      for (Locale displayLocale : displays) {
+        writeString(out, displayLocale.toLanguageTag());
+      }
+      for (int offset : table) {
+        out.writeInt(offset);
+      }
+      for (String value : pool) {
+        writeString(out, value);
+      }
+    }
+  }
+
+  /**
+   * Memory-maps a snapshot, so that the names it contains are not computed again.
+   *
+   * <p>If the file doesn't exist, it was written by a different JDK, or it is truncated, the
+   * snapshot is not loaded and any snapshot loaded before remains in use.
+   *
+   * @param file the file where the snapshot was written
+   * @return {@code true} if the snapshot was loaded, {@code false} otherwise
+   * @throws IOException if the file cannot be read, or it is not a snapshot
+   */
+  public static boolean load(Path file) throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return false;
+    }
+
+    ByteBuffer buffer;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+
+    try {
+      if (buffer.remaining() < Integer.BYTES) {
+        return false;
+      }
+      if (buffer.getInt() != MAGIC) {
+        throw new IOException("Not a locale table snapshot: " + file);
+      }
+      if (buffer.getInt() != FORMAT_VERSION || !getFingerprint().equals(readString(buffer))) {
+        return false;
+      }
+
+      Map<Locale, Integer> locales = readLocales(buffer);
+      Map<Locale, Integer> displayLocales = readLocales(buffer);
+      int tableOffset = buffer.position();
+      int poolOffset =
+          tableOffset + locales.size() * displayLocales.size() * COLUMNS * Integer.BYTES;
+      if (!isComplete(buffer, tableOffset, poolOffset)) {
+        return false;
+      }
+      current = new LocaleTableSnapshot(buffer, locales, displayLocales, tableOffset, poolOffset);
+      return true;
+    } catch (BufferUnderflowException e) {
+      // the header is truncated
+      return false;
+    } catch (RuntimeException e) {
+      throw new IOException("Malformed locale table snapshot: " + file, e);
+    }
+  }
+
+  /**
+   * Returns whether the table and the string pool are entirely in the buffer. The strings are
+   * written in the order in which they are first referenced, so the pool ends with the string that
+   * has the largest offset.
+   */
+  private static boolean isComplete(ByteBuffer buffer, int tableOffset, int poolOffset) {
+    if (poolOffset > buffer.limit()) {
+      return false;
+    }
+    int last = -1;
+    for (int position = tableOffset; position < poolOffset; position += Integer.BYTES) {
+      last = Math.max(last, buffer.getInt(position));
+    }
+    if (last < 0) {
+      return true;
+    }
+    long lastOffset = (long) poolOffset + last;
+    return lastOffset + Integer.BYTES <= buffer.limit()
+        && lastOffset + Integer.BYTES + buffer.getInt((int) lastOffset) <= buffer.limit();
+  }
+
+  /** Stops using the snapshot that was loaded, if any. */
+  public static void unload() {
+    current = null;
+  }
+
+  /**
+   * Returns a value of the snapshot.
+   *
+   * @param column one of {@link #DISPLAY_NAME}, {@link #DISPLAY_COUNTRY} or {@link #SEARCH_KEY}
+   * @return the value, or {@code null} if the snapshot doesn't contain the pair of locales
+   */
+  String get(Locale locale, Locale displayLocale, int column) {
+    Integer row = locales.get(locale);
+    Integer block = displayLocales.get(displayLocale);
+    if (row == null || block == null) {
+      return null;
+    }
+    int index = (block * locales.size() + row) * COLUMNS + column;
+    int offset = buffer.getInt(tableOffset + index * Integer.BYTES);
+    byte[] bytes = new byte[buffer.getInt(poolOffset + offset)];
+    buffer.get(poolOffset + offset + Integer.BYTES, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static boolean hasLanguageTag(Locale locale) {
+    return Locale.forLanguageTag(locale.toLanguageTag()).equals(locale);
+  }
+
+  /** Identifies the JDK whose locale data computed the names. */
+  private static String getFingerprint() {
+    return Runtime.version() + "/" + System.getProperty("java.vendor") + "/"
+        + System.getProperty("java.locale.providers", "");
+  }
+
+  private static Map<Locale, Integer> readLocales(ByteBuffer buffer) {
+    int size = buffer.getInt();
+    Map<Locale, Integer> locales = new HashMap<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      locales.put(Locale.forLanguageTag(readString(buffer)), i);
+    }
+    return locales;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getInt()];
+    buffer.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,90 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox;
+
+import java.text.Normalizer;
+import java.util.Locale;
+
+/**
+ * Converts locale names and filter text into accent- and case-insensitive search keys.
+ *
+ * <p>Keys are computed by decomposing the text, removing combining marks, folding case with the
+ * rules of the display locale and mapping a few letters that have no decomposition (such as
+ * {@code ø} or {@code ł}) to their base letter. For instance, both "Español" and "espanol" are
+ * converted into "espanol", and "Türkçe" into "turkce".
+ */
+final class SearchKeyNormalizer {
+
+  private SearchKeyNormalizer() {}
+
+  /**
+   * Returns the search key of {@code text}.
+   *
+   * @param text the text to normalize
+   * @param locale the locale whose case folding rules are applied
+   */
+  static String normalize(String text, Locale locale) {
+    String lowerCase = text.toLowerCase(locale);
+    if (isAscii(lowerCase)) {
+      return lowerCase;
+    }
+
+    String decomposed = Normalizer.normalize(lowerCase, Normalizer.Form.NFD);
+    StringBuilder sb = new StringBuilder(decomposed.length());
+    for (int i = 0; i < decomposed.length(); i++) {
+      char c = decomposed.charAt(i);
+      switch (Character.getType(c)) {
+        case Character.NON_SPACING_MARK:
+        case Character.COMBINING_SPACING_MARK:
+        case Character.ENCLOSING_MARK:
+          break;
+        default:
+          sb.append(fold(c));
+      }
+    }
+    return sb.toString();
+  }
+
+  private static char fold(char c) {
+    switch (c) {
+      case 'ı':
+        return 'i';
+      case 'ø':
+        return 'o';
+      case 'ł':
+        return 'l';
+      case 'đ':
+        return 'd';
+      case 'ħ':
+        return 'h';
+      default:
+        return c;
+    }
+  }
+
+  private static boolean isAscii(String text) {
+    for (int i = 0; i < text.length(); i++) {
+      if (text.charAt(i) >= 0x80) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
@@ -0,0 +1,81 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+
+/* Resolves locale and region names in the browser with Intl.DisplayNames, for LocaleComboBox. */
+
+const displayNames = new Map();
+
+const OPTIONS = {
+	language: { type: 'language', languageDisplay: 'standard', fallback: 'none' },
+	region: { type: 'region', fallback: 'none' }
+};
+
+function getDisplayNames(displayTag, type) {
+	const key = type + ':' + displayTag;
+	if (!displayNames.has(key)) {
+		let names = null;
+		try {
+			names = new Intl.DisplayNames([displayTag], OPTIONS[type]);
+			// the browser may silently substitute a display locale it doesn't support
+			const resolved = new Intl.Locale(names.resolvedOptions().locale).language;
+			if (resolved !== new Intl.Locale(displayTag).language) {
+				names = null;
+			}
+		} catch (e) {
+			names = null;
+		}
+		displayNames.set(key, names);
+	}
+	return displayNames.get(key);
+}
+
+function resolveName(type, code, displayTag) {
+	const names = getDisplayNames(displayTag, type);
+	if (names) {
+		try {
+			return names.of(code);
+		} catch (e) {
+			// not a structurally valid code
+		}
+	}
+	return undefined;
+}
+
+window.fcLocaleComboBox = window.fcLocaleComboBox || {};
+
+/**
+ * Returns the name of the locale identified by tag, formatted for displayTag, or fallback if the
+ * browser doesn't know either of them.
+ */
+window.fcLocaleComboBox.displayName = (tag, displayTag, fallback) =>
+	resolveName('language', tag, displayTag) || fallback;
+
+/**
+ * Returns the name of the region identified by a flag code, formatted for displayTag (or for the
+ * language of the page, if displayTag is empty), or the upper-case code if the browser doesn't
+ * know either of them.
+ */
+window.fcLocaleComboBox.regionName = (code, displayTag) => {
+	if (!code) {
+		return '';
+	}
+	displayTag = displayTag || document.documentElement.lang || navigator.language;
+	return resolveName('region', code.toUpperCase(), displayTag) || code.toUpperCase();
+};
@@ -21,10 +21,9 @@
 package com.flowingcode.vaadin.addons.localecombobox;
 
 import com.flowingcode.vaadin.addons.demo.DemoSource;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog.AvailableLocalesFilter;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 
 @DemoSource
@@ -35,19 +34,16 @@ public class DisplayModeDemo extends BaseLocaleComboBoxDemo {
 
   public DisplayModeDemo() {
 
-    List<Locale> localeList =
-        Arrays.stream(Locale.getAvailableLocales())
-            .filter(loc -> !loc.getDisplayName().isBlank())
-            .sorted((l1, l2) -> l1.getDisplayName().compareTo(l2.getDisplayName()))
-            .toList();
+    LocaleCatalog locales = LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME);
 
-    LocaleComboBox defaultDisplayLocale = new LocaleComboBox(localeList);
+    LocaleComboBox defaultDisplayLocale = new LocaleComboBox(locales);
     LocaleComboBox koreanLocaleCombo = new LocaleComboBox();
-    LocaleComboBox selectedLocaleCombo = new LocaleComboBox(localeList);
+    LocaleComboBox selectedLocaleCombo = new LocaleComboBox(locales);
+    LocaleComboBox nativeLocaleCombo = new LocaleComboBox(locales.sortedByNativeName());
 
     defaultDisplayLocale.setValue(Locale.ITALY);
 
-    koreanLocaleCombo.setItems(localeList);
+    koreanLocaleCombo.setItems(locales);
     koreanLocaleCombo.setDisplayLocale(Locale.KOREA);
     koreanLocaleCombo.setDisplayMode(LocaleComboBox.DisplayMode.CUSTOM);
     koreanLocaleCombo.setValue(Locale.ITALY);
@@ -55,14 +51,19 @@ public class DisplayModeDemo extends BaseLocaleComboBoxDemo {
     selectedLocaleCombo.setDisplayMode(LocaleComboBox.DisplayMode.SELECTED);
     selectedLocaleCombo.setValue(Locale.ITALY);
 
+    nativeLocaleCombo.setDisplayMode(LocaleComboBox.DisplayMode.NATIVE);
+    nativeLocaleCombo.setValue(Locale.ITALY);
+
     // #if vaadin eq 0
     add(createHorizontalContainer("Default display mode (uses default locale):",
         defaultDisplayLocale),
         createHorizontalContainer("Display locales with Korean locale:", koreanLocaleCombo),
-        createHorizontalContainer("Display locales with selected locale:", selectedLocaleCombo));
+        createHorizontalContainer("Display locales with selected locale:", selectedLocaleCombo),
+        createHorizontalContainer("Display locales in their own language:", nativeLocaleCombo));
     // #endif
     // show-source add(defaultDisplayLocale);
     // show-source add(koreanLocaleCombo);
     // show-source add(selectedLocaleCombo);
+    // show-source add(nativeLocaleCombo);
   }
 }
@@ -20,11 +20,10 @@
 package com.flowingcode.vaadin.addons.localecombobox;
 
 import com.flowingcode.vaadin.addons.demo.DemoSource;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog.AvailableLocalesFilter;
 import com.vaadin.flow.component.checkbox.Checkbox;
 import com.vaadin.flow.router.PageTitle;
 import com.vaadin.flow.router.Route;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 
 @DemoSource
@@ -34,14 +33,10 @@ import java.util.Locale;
 public class RenderingDemo extends BaseLocaleComboBoxDemo {
   public RenderingDemo() {
 
-    List<Locale> localeList =
-        Arrays.stream(Locale.getAvailableLocales())
-            .filter(loc -> !loc.getDisplayName().isBlank())
-            .sorted((l1, l2) -> l1.getDisplayName().compareTo(l2.getDisplayName()))
-            .toList();
+    LocaleCatalog locales = LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME);
 
-    LocaleComboBox defaultLocaleCombo = new LocaleComboBox(localeList);
-    LocaleComboBox flagsLocaleCombo = new LocaleComboBox(localeList);
+    LocaleComboBox defaultLocaleCombo = new LocaleComboBox(locales);
+    LocaleComboBox flagsLocaleCombo = new LocaleComboBox(locales);
     Checkbox checkbox = new Checkbox("Render flags");
 
     defaultLocaleCombo.setValue(Locale.ITALY);
@@ -0,0 +1,102 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.benchmark;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import com.flowingcode.vaadin.addons.localecombobox.test.CapturingLocaleComboBox;
+import com.vaadin.flow.component.UI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the label-based filter of {@link FilterMode#DEFAULT} with the precomputed normalized
+ * keys of {@link FilterMode#NORMALIZED}. Each invocation filters all of
+ * {@link Locale#getAvailableLocales()}, as a keystroke does with an in-memory data provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+  @Param({"ital", "espanol"})
+  private String filterText;
+
+  private List<Locale> locales;
+
+  private CapturingLocaleComboBox labelFilter;
+
+  private CapturingLocaleComboBox normalizedFilter;
+
+  @Setup
+  public void setup() {
+    UI ui = new UI();
+    ui.setLocale(new Locale("es"));
+    UI.setCurrent(ui);
+
+    locales = Arrays.asList(Locale.getAvailableLocales());
+    labelFilter = new CapturingLocaleComboBox(locales);
+    normalizedFilter = new CapturingLocaleComboBox(locales);
+    normalizedFilter.setFilterMode(FilterMode.NORMALIZED);
+    ui.add(labelFilter, normalizedFilter);
+  }
+
+  @TearDown
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  @Benchmark
+  public int labelFilter() {
+    return count(labelFilter, filterText);
+  }
+
+  @Benchmark
+  public int normalizedFilter() {
+    return count(normalizedFilter, filterText);
+  }
+
+  private int count(CapturingLocaleComboBox combo, String filterText) {
+    int count = 0;
+    for (Locale locale : locales) {
+      if (combo.getItemFilter().test(locale, filterText)) {
+        count++;
+      }
+    }
+    return count;
+  }
+}
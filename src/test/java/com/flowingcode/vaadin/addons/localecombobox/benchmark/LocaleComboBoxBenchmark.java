@@ -0,0 +1,118 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.benchmark;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.test.CapturingLocaleComboBox;
+import com.vaadin.flow.component.ItemLabelGenerator;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.ValueProvider;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks for the per-item rendering hot paths of {@link LocaleComboBox}. Each invocation
+ * processes all of {@link Locale#getAvailableLocales()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocaleComboBoxBenchmark {
+
+  private List<Locale> locales;
+
+  private CapturingLocaleComboBox combo;
+
+  private ItemLabelGenerator<Locale> labelGenerator;
+
+  private Collection<ValueProvider<Locale, ?>> rendererProperties;
+
+  private ValueProvider<Locale, ?> flagCode;
+
+  @Setup
+  public void setup() {
+    // the display locale is resolved from the current UI, as it happens during a request
+    UI ui = new UI();
+    ui.setLocale(Locale.ENGLISH);
+    UI.setCurrent(ui);
+
+    locales = Arrays.asList(Locale.getAvailableLocales());
+    combo = new CapturingLocaleComboBox(locales);
+    ui.add(combo);
+    labelGenerator = combo.getItemLabelGenerator();
+    rendererProperties = combo.getLitRenderer().getValueProviders().values();
+    flagCode = combo.getLitRenderer().getValueProviders().get("countryCode");
+  }
+
+  @TearDown
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  @Benchmark
+  public void labelGenerator(Blackhole bh) {
+    for (Locale locale : locales) {
+      bh.consume(labelGenerator.apply(locale));
+    }
+  }
+
+  @Benchmark
+  public void rendererProperties(Blackhole bh) {
+    evaluate(rendererProperties, bh);
+  }
+
+  @Benchmark
+  public void flagCode(Blackhole bh) {
+    for (Locale locale : locales) {
+      bh.consume(flagCode.apply(locale));
+    }
+  }
+
+  @Benchmark
+  public LocaleComboBox constructWithAvailableLocales() {
+    return new LocaleComboBox(locales);
+  }
+
+  private void evaluate(Collection<ValueProvider<Locale, ?>> properties, Blackhole bh) {
+    for (Locale locale : locales) {
+      for (ValueProvider<Locale, ?> property : properties) {
+        bh.consume(property.apply(locale));
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.benchmark;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCountryConverter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/** Benchmarks for {@link LocaleCountryConverter#convertToISO3166Code(String)}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LocaleCountryConverterBenchmark {
+
+  private static final int CODES = 8;
+
+  private final String[] alpha2 = {"AR", "us", "Gb", "DE", "jp", "Br", "IT", "uy"};
+
+  private final String[] alpha3 = {"ARG", "usa", "Gbr", "DEU", "jpn", "Bra", "ITA", "ury"};
+
+  private final String[] numeric = {"032", "840", "826", "276", "392", "076", "380", "858"};
+
+  private final String[] misses = {"ZZ", "XYZ", "999", "", "A1", "QQQ", "0000", "ZX"};
+
+  @Benchmark
+  @OperationsPerInvocation(CODES)
+  public void alpha2Hits(Blackhole bh) {
+    convert(alpha2, bh);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CODES)
+  public void alpha3Hits(Blackhole bh) {
+    convert(alpha3, bh);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CODES)
+  public void numericHits(Blackhole bh) {
+    convert(numeric, bh);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CODES)
+  public void misses(Blackhole bh) {
+    convert(misses, bh);
+  }
+
+  private static void convert(String[] codes, Blackhole bh) {
+    for (String code : codes) {
+      bh.consume(LocaleCountryConverter.convertToISO3166Code(code));
+    }
+  }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import java.util.List;
+import java.util.Locale;
+import java.util.Locale.LanguageRange;
+import java.util.Optional;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AcceptLanguageTest {
+
+  private static final List<Locale> LOCALES = List.of(Locale.ENGLISH, Locale.US,
+      Locale.forLanguageTag("es"), Locale.forLanguageTag("es-AR"), Locale.GERMANY,
+      Locale.forLanguageTag("zh-Hant-TW"));
+
+  private static final String[] HEADERS = {"es-AR,es;q=0.9,en;q=0.8", "es-UY,es;q=0.9",
+      "fr-CH, fr;q=0.9, en;q=0.8, de;q=0.7, *;q=0.5", "de-DE-x-private", "de;q=0.1,en-GB",
+      "zh-Hant-TW", "zh-Hant", "fr;q=0,en", "fr", "*", ""};
+
+  @Test
+  public void testMatchesLocaleLookup() {
+    LocaleCatalog catalog = LocaleCatalog.of(LOCALES);
+    for (String header : HEADERS) {
+      Locale expected =
+          header.isEmpty() ? null : Locale.lookup(LanguageRange.parse(header), LOCALES);
+      Assert.assertEquals(header, Optional.ofNullable(expected), catalog.match(header));
+      // cached result
+      Assert.assertEquals(header, Optional.ofNullable(expected), catalog.match(header));
+    }
+  }
+
+  @Test
+  public void testMatchesBeyondCacheSize() {
+    LocaleCatalog catalog = LocaleCatalog.of(LOCALES);
+    for (int i = 0; i < 1000; i++) {
+      String header = "de-DE,en-x-" + i;
+      Assert.assertEquals(header, Optional.of(Locale.GERMANY), catalog.match(header));
+    }
+    Assert.assertEquals(Optional.of(Locale.forLanguageTag("es-AR")), catalog.match(HEADERS[0]));
+  }
+
+  @Test
+  public void testInvalidHeader() {
+    LocaleCatalog catalog = LocaleCatalog.of(LOCALES);
+    Assert.assertEquals(Optional.empty(), catalog.match("en;q=2"));
+    Assert.assertEquals(Optional.empty(), catalog.match(null));
+  }
+
+  @Test
+  public void testPreselectFromCatalog() {
+    LocaleComboBox combo = new LocaleComboBox(LocaleCatalog.of(LOCALES));
+    Assert.assertEquals(Optional.of(Locale.GERMANY), combo.preselect("de-DE"));
+    Assert.assertEquals(Locale.GERMANY, combo.getValue());
+    Assert.assertEquals(Optional.empty(), combo.preselect("fr"));
+    Assert.assertEquals(Locale.GERMANY, combo.getValue());
+  }
+
+  @Test
+  public void testPreselectFromItems() {
+    LocaleComboBox combo = new LocaleComboBox(LOCALES);
+    Assert.assertEquals(Optional.of(Locale.forLanguageTag("es")), combo.preselect("es-UY"));
+    Assert.assertEquals(Locale.forLanguageTag("es"), combo.getValue());
+  }
+
+  @Test
+  public void testPreselectWithoutRequest() {
+    LocaleComboBox combo = new LocaleComboBox(LOCALES);
+    Assert.assertEquals(Optional.empty(), combo.preselect());
+    Assert.assertNull(combo.getValue());
+  }
+}
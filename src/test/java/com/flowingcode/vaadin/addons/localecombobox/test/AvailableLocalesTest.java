@@ -0,0 +1,63 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog.AvailableLocalesFilter;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AvailableLocalesTest {
+
+  @Test
+  public void testCatalogIsShared() {
+    LocaleCatalog catalog = LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME);
+    Assert.assertSame(catalog, LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME,
+        AvailableLocalesFilter.HAS_NAME));
+    Assert.assertSame(catalog,
+        LocaleComboBox.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME).getCatalog());
+    Assert.assertNotSame(catalog, LocaleCatalog.ofAvailableLocales());
+  }
+
+  @Test
+  public void testSortedByName() {
+    List<Locale> expected = Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> !loc.getDisplayName().isBlank())
+        .sorted((l1, l2) -> l1.getDisplayName().compareTo(l2.getDisplayName()))
+        .toList();
+    Assert.assertEquals(expected,
+        LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME).getLocales());
+  }
+
+  @Test
+  public void testFilters() {
+    Assert.assertEquals(Locale.getAvailableLocales().length,
+        LocaleCatalog.ofAvailableLocales().size());
+    Assert.assertTrue(LocaleCatalog.ofAvailableLocales().getLocales().contains(Locale.ROOT));
+    Assert.assertFalse(LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_NAME)
+        .getLocales().contains(Locale.ROOT));
+    Assert.assertTrue(LocaleCatalog.ofAvailableLocales(AvailableLocalesFilter.HAS_COUNTRY)
+        .getLocales().stream().noneMatch(loc -> loc.getCountry().isEmpty()));
+  }
+}
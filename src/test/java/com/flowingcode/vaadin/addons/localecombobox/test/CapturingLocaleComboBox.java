@@ -0,0 +1,89 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.vaadin.flow.component.combobox.ComboBox.ItemFilter;
+import com.vaadin.flow.component.combobox.dataview.ComboBoxListDataView;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.data.renderer.Renderer;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * A {@link LocaleComboBox} that keeps the renderer and the item filter it sets on itself, so that
+ * tests and benchmarks can evaluate them without widening the visibility of the component.
+ */
+@SuppressWarnings("serial")
+public class CapturingLocaleComboBox extends LocaleComboBox {
+
+  // not initialized, since they are assigned by the superclass constructor
+  private LitRenderer<Locale> litRenderer;
+
+  private ItemFilter<Locale> itemFilter;
+
+  public CapturingLocaleComboBox() {}
+
+  public CapturingLocaleComboBox(Collection<Locale> locales) {
+    super(locales);
+  }
+
+  public CapturingLocaleComboBox(LocaleCatalog catalog) {
+    super(catalog);
+  }
+
+  @Override
+  public void setRenderer(Renderer<Locale> renderer) {
+    super.setRenderer(renderer);
+    litRenderer = (LitRenderer<Locale>) renderer;
+  }
+
+  @Override
+  public ComboBoxListDataView<Locale> setItems(ItemFilter<Locale> itemFilter,
+      Collection<Locale> items) {
+    this.itemFilter = itemFilter;
+    return super.setItems(itemFilter, items);
+  }
+
+  /** Returns the renderer that was last set. */
+  public LitRenderer<Locale> getLitRenderer() {
+    return litRenderer;
+  }
+
+  /** Returns the template of the renderer that was last set. */
+  public String getTemplateExpression() throws ReflectiveOperationException {
+    Method getTemplateExpression = LitRenderer.class.getDeclaredMethod("getTemplateExpression");
+    getTemplateExpression.setAccessible(true);
+    return (String) getTemplateExpression.invoke(litRenderer);
+  }
+
+  /** Returns the item filter of the in-memory items that were last set. */
+  public ItemFilter<Locale> getItemFilter() {
+    return itemFilter;
+  }
+
+  /** Evaluates every property of the renderer for an item, and returns the number of them. */
+  public int evaluateRendererProperties(Locale item) {
+    litRenderer.getValueProviders().values().forEach(property -> property.apply(item));
+    return litRenderer.getValueProviders().size();
+  }
+}
@@ -0,0 +1,92 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.FlagCssGenerator;
+import com.flowingcode.vaadin.addons.localecombobox.FlagCssGenerator.AspectRatio;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class FlagCssGeneratorTest {
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path flags;
+
+  @Before
+  public void setup() throws IOException {
+    flags = folder.newFolder("flags").toPath();
+    for (String ratio : List.of("4x3", "1x1")) {
+      Path dir = Files.createDirectories(flags.resolve(ratio));
+      for (String code : List.of("ar", "uy", "us", "un")) {
+        Files.writeString(dir.resolve(code + ".svg"),
+            "<svg id=\"" + ratio + "-" + code + "\">\n<path fill=\"#fff\"/></svg>\n");
+      }
+    }
+  }
+
+  private String generate(AspectRatio ratio, List<String> countries, List<Locale> locales)
+      throws IOException {
+    StringWriter out = new StringWriter();
+    new FlagCssGenerator(flags, ratio).addCountries(countries).addLocales(locales).write(out);
+    return out.toString();
+  }
+
+  @Test
+  public void testOnlySelectedFlagsAreIncluded() throws IOException {
+    String css = generate(AspectRatio.RATIO_4X3, List.of("ARG"), List.of(new Locale("es", "UY")));
+
+    Assert.assertTrue(css.contains(".fi-ar{"));
+    Assert.assertTrue(css.contains(".fi-uy{"));
+    Assert.assertTrue(css.contains(".fi-un{"));
+    Assert.assertFalse(css.contains(".fi-us{"));
+    Assert.assertTrue(css.contains("width:1.333333em"));
+    Assert.assertTrue(css.contains("4x3-ar"));
+    Assert.assertFalse(css.contains("1x1-"));
+  }
+
+  @Test
+  public void testDataUriIsEscaped() throws IOException {
+    String css = generate(AspectRatio.RATIO_1X1, List.of("AR"), List.of());
+
+    Assert.assertTrue(css.contains("width:1em"));
+    Assert.assertTrue(css.contains("%3csvg id=%221x1-ar%22%3e %3cpath fill=%22%23fff%22/%3e"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testUnknownCountry() throws IOException {
+    generate(AspectRatio.RATIO_4X3, List.of("ZZZ"), List.of());
+  }
+
+  @Test(expected = NoSuchFileException.class)
+  public void testMissingFlagsDirectory() throws IOException {
+    new FlagCssGenerator(flags.resolve("missing"), AspectRatio.RATIO_4X3).write(new StringWriter());
+  }
+}
@@ -0,0 +1,128 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.renderer.Renderer;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FlagToggleTest {
+
+  @SuppressWarnings("serial")
+  private static class CountingLocaleComboBox extends LocaleComboBox {
+
+    private int rendererResets;
+
+    CountingLocaleComboBox() {
+      super(List.of(Locale.ITALY, Locale.US, Locale.GERMANY));
+    }
+
+    @Override
+    public void setRenderer(Renderer<Locale> renderer) {
+      rendererResets++;
+      super.setRenderer(renderer);
+    }
+  }
+
+  private CountingLocaleComboBox combo;
+
+  private Component prefix;
+
+  private final AtomicInteger attaches = new AtomicInteger();
+
+  private final AtomicInteger detaches = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    UI ui = new UI();
+    UI.setCurrent(ui);
+    combo = new CountingLocaleComboBox();
+    ui.add(combo);
+
+    prefix = combo.getPrefixComponent();
+    prefix.addAttachListener(ev -> attaches.incrementAndGet());
+    prefix.addDetachListener(ev -> detaches.incrementAndGet());
+  }
+
+  @After
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  @Test
+  public void testPrefixFlagIsReused() {
+    combo.setValue(Locale.ITALY);
+    Assert.assertTrue(prefix.isVisible());
+    Assert.assertEquals("fi fi-it", prefix.getElement().getAttribute("class"));
+
+    combo.setValue(Locale.US);
+    Assert.assertEquals("fi fi-us", prefix.getElement().getAttribute("class"));
+
+    combo.setValue(null);
+    Assert.assertFalse(prefix.isVisible());
+
+    combo.setValue(Locale.GERMANY);
+    Assert.assertSame(prefix, combo.getPrefixComponent());
+    Assert.assertEquals("fi fi-de", prefix.getElement().getAttribute("class"));
+    Assert.assertEquals(0, attaches.get());
+    Assert.assertEquals(0, detaches.get());
+  }
+
+  @Test
+  public void testToggleFlagsDoesNotResetRenderer() {
+    int rendererResets = combo.rendererResets;
+    combo.setOverlayClassName("custom");
+    combo.setValue(Locale.ITALY);
+
+    combo.setHasFlags(false);
+    Assert.assertFalse(prefix.isVisible());
+    Assert.assertEquals("custom fc-locale-combo-box-no-flags", combo.getOverlayClassName());
+
+    combo.setHasFlags(true);
+    Assert.assertTrue(prefix.isVisible());
+    Assert.assertEquals("custom", combo.getOverlayClassName());
+
+    Assert.assertEquals(rendererResets, combo.rendererResets);
+    Assert.assertSame(prefix, combo.getPrefixComponent());
+    Assert.assertEquals(0, attaches.get());
+    Assert.assertEquals(0, detaches.get());
+  }
+
+  @Test
+  public void testOverlayClassNameKeepsNoFlags() {
+    combo.setHasFlags(false);
+    combo.setOverlayClassName("app");
+    Assert.assertEquals("app fc-locale-combo-box-no-flags", combo.getOverlayClassName());
+
+    combo.setOverlayClassName(null);
+    Assert.assertEquals("fc-locale-combo-box-no-flags", combo.getOverlayClassName());
+
+    combo.setHasFlags(true);
+    Assert.assertEquals("", combo.getOverlayClassName());
+  }
+}
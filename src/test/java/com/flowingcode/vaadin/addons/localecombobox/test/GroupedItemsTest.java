@@ -0,0 +1,83 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.count;
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.fetch;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GroupedItemsTest {
+
+  private static final Locale SPANISH = new Locale("es");
+
+  private LocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    combo = new LocaleComboBox();
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(Locale.ENGLISH);
+    combo.setGroupedItems(Arrays.asList(Locale.getAvailableLocales()));
+  }
+
+  @Test
+  public void testEmptyFilterListsLanguages() {
+    long languages = Arrays.stream(Locale.getAvailableLocales()).map(Locale::getLanguage)
+        .filter(language -> !language.isEmpty()).distinct().count();
+    Assert.assertEquals(languages, count(combo, null));
+    Assert.assertTrue(fetch(combo, null, 0, Integer.MAX_VALUE).stream()
+        .allMatch(loc -> loc.getCountry().isEmpty() && loc.getVariant().isEmpty()));
+  }
+
+  @Test
+  public void testFilterExpandsSingleLanguage() {
+    List<Locale> variants = Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> loc.getLanguage().equals("es") && !loc.equals(SPANISH))
+        .collect(Collectors.toList());
+
+    List<Locale> items = fetch(combo, "spani", 0, 1000);
+    Assert.assertEquals(variants.size() + 1, count(combo, "spani"));
+    Assert.assertEquals(SPANISH, items.get(0));
+    Assert.assertTrue(items.containsAll(variants));
+    Assert.assertEquals(items.subList(1, 3), fetch(combo, "spani", 1, 2));
+  }
+
+  @Test
+  public void testFilterWithinLanguage() {
+    Assert.assertEquals(List.of(new Locale("es", "AR")), fetch(combo, "Spanish (Arg", 0, 50));
+  }
+
+  @Test
+  public void testAmbiguousFilterListsLanguages() {
+    List<Locale> items = fetch(combo, "e", 0, 1000);
+    Assert.assertTrue(items.size() > 1);
+    Assert.assertTrue(items.contains(Locale.ENGLISH));
+    Assert.assertFalse(items.contains(Locale.US));
+  }
+}
@@ -0,0 +1,216 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.function.ValueProvider;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.ToLongFunction;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Headless measurement of the server-side cost of {@link LocaleComboBox}: retained heap per
+ * instance, bytes allocated and time spent for creating and attaching an instance, and for
+ * producing the first page of rendered items. Each instance is attached to its own {@link UI} and
+ * holds all the available locales.
+ *
+ * <p>Allocations are measured on the current thread, so they don't depend on the garbage
+ * collector. Retained heap and timings are affected by other activity of the JVM, so each setting
+ * is measured several times and the median is compared against generous budgets.
+ */
+public class InstanceCostTest {
+
+  private static final int INSTANCES = 200;
+
+  private static final int PAGE_SIZE = 50;
+
+  private static final int RUNS = 3;
+
+  private static final long MAX_RETAINED_BYTES = 32 * 1024;
+
+  private static final long MAX_CONSTRUCTOR_BYTES = 96 * 1024;
+
+  private static final long MAX_FIRST_PAGE_BYTES = 32 * 1024;
+
+  private static final long MAX_CONSTRUCTOR_NANOS = 10_000_000;
+
+  private static final long MAX_FIRST_PAGE_NANOS = 50_000_000;
+
+  private record Cost(long retainedBytes, long constructorBytes, long firstPageBytes,
+      long constructorNanos, long firstPageNanos) {}
+
+  /** Fetches the first page of items and evaluates the renderer properties of each one. */
+  private static int renderFirstPage(CapturingLocaleComboBox combo) {
+    Collection<ValueProvider<Locale, ?>> properties =
+        combo.getLitRenderer().getValueProviders().values();
+    List<Locale> page = ItemQueries.fetch(combo, null, 0, PAGE_SIZE);
+    int count = 0;
+    for (Locale locale : page) {
+      for (ValueProvider<Locale, ?> property : properties) {
+        if (property.apply(locale) != null) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  private final LocaleCatalog catalog = LocaleCatalog.ofAvailableLocales();
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+  @After
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  private long usedHeap() {
+    for (int i = 0; i < 3; i++) {
+      System.gc();
+    }
+    return memoryBean.getHeapMemoryUsage().getUsed();
+  }
+
+  private long allocatedBytes() {
+    return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private CapturingLocaleComboBox create(UI ui, DisplayMode displayMode, boolean hasFlags) {
+    CapturingLocaleComboBox combo = new CapturingLocaleComboBox(catalog);
+    combo.setDisplayMode(displayMode);
+    if (displayMode == DisplayMode.CUSTOM) {
+      combo.setDisplayLocale(Locale.FRENCH);
+    }
+    combo.setHasFlags(hasFlags);
+    ui.add(combo);
+    return combo;
+  }
+
+  private static UI[] createUIs() {
+    UI[] uis = new UI[INSTANCES];
+    for (int i = 0; i < INSTANCES; i++) {
+      uis[i] = new UI();
+      uis[i].setLocale(Locale.ENGLISH);
+    }
+    return uis;
+  }
+
+  /** Measures {@value #INSTANCES} instances created with the given settings. */
+  private Cost measure(DisplayMode displayMode, boolean hasFlags) {
+    UI[] uis = createUIs();
+    CapturingLocaleComboBox[] instances = new CapturingLocaleComboBox[INSTANCES];
+
+    long heapBefore = usedHeap();
+    long allocatedBefore = allocatedBytes();
+    long constructorNanos = 0;
+    for (int i = 0; i < INSTANCES; i++) {
+      UI.setCurrent(uis[i]);
+      long start = System.nanoTime();
+      instances[i] = create(uis[i], displayMode, hasFlags);
+      constructorNanos += System.nanoTime() - start;
+    }
+    long constructorBytes = allocatedBytes() - allocatedBefore;
+    // a collection of unrelated garbage during the run may leave less heap in use than before
+    long retainedBytes = Math.max(0, usedHeap() - heapBefore);
+
+    allocatedBefore = allocatedBytes();
+    long firstPageNanos = 0;
+    int rendered = 0;
+    for (int i = 0; i < INSTANCES; i++) {
+      UI.setCurrent(uis[i]);
+      long start = System.nanoTime();
+      rendered += renderFirstPage(instances[i]);
+      firstPageNanos += System.nanoTime() - start;
+    }
+    long firstPageBytes = allocatedBytes() - allocatedBefore;
+    UI.setCurrent(null);
+
+    Assert.assertTrue(rendered > 0);
+    Assert.assertNotNull(instances[INSTANCES - 1]);
+    return new Cost(retainedBytes / INSTANCES, constructorBytes / INSTANCES,
+        firstPageBytes / INSTANCES, constructorNanos / INSTANCES, firstPageNanos / INSTANCES);
+  }
+
+  /** Measures the given settings {@value #RUNS} times, and returns the median of each value. */
+  private Cost measureMedian(DisplayMode displayMode, boolean hasFlags) {
+    List<Cost> costs = new ArrayList<>();
+    for (int i = 0; i < RUNS; i++) {
+      costs.add(measure(displayMode, hasFlags));
+    }
+    return new Cost(median(costs, Cost::retainedBytes), median(costs, Cost::constructorBytes),
+        median(costs, Cost::firstPageBytes), median(costs, Cost::constructorNanos),
+        median(costs, Cost::firstPageNanos));
+  }
+
+  private static long median(List<Cost> costs, ToLongFunction<Cost> value) {
+    return costs.stream().mapToLong(value).sorted().skip(costs.size() / 2).findFirst()
+        .orElseThrow();
+  }
+
+  @Test
+  public void testInstanceCost() {
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    // warm-up, so that class initialization and shared caches are not measured
+    for (DisplayMode displayMode : DisplayMode.values()) {
+      measure(displayMode, true);
+    }
+
+    List<String> failures = new ArrayList<>();
+    for (DisplayMode displayMode : DisplayMode.values()) {
+      for (boolean hasFlags : new boolean[] {false, true}) {
+        Cost cost = measureMedian(displayMode, hasFlags);
+        String name = displayMode + (hasFlags ? " with flags" : " without flags");
+        if (cost.retainedBytes() > MAX_RETAINED_BYTES) {
+          failures.add(name + " retains " + cost.retainedBytes() + " bytes per instance");
+        }
+        if (cost.constructorBytes() > MAX_CONSTRUCTOR_BYTES) {
+          failures.add(name + " allocates " + cost.constructorBytes() + " bytes per instance");
+        }
+        if (cost.firstPageBytes() > MAX_FIRST_PAGE_BYTES) {
+          failures.add(name + " allocates " + cost.firstPageBytes()
+              + " bytes for rendering the first page");
+        }
+        if (cost.constructorNanos() > MAX_CONSTRUCTOR_NANOS) {
+          failures.add(name + " takes " + cost.constructorNanos() + " ns to construct");
+        }
+        if (cost.firstPageNanos() > MAX_FIRST_PAGE_NANOS) {
+          failures.add(name + " takes " + cost.firstPageNanos() + " ns to render the first page");
+        }
+      }
+    }
+    Assert.assertTrue(String.join("\n", failures), failures.isEmpty());
+  }
+}
@@ -0,0 +1,49 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.vaadin.flow.component.combobox.ComboBox;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+/** Queries the data provider of a combobox as the client does, with a filter text and a page. */
+final class ItemQueries {
+
+  private ItemQueries() {}
+
+  @SuppressWarnings("unchecked")
+  private static DataProvider<Locale, String> getDataProvider(ComboBox<Locale> combo) {
+    return (DataProvider<Locale, String>) combo.getDataProvider();
+  }
+
+  /** Returns a page of the items that match {@code filter}, or all the items if it's null. */
+  static List<Locale> fetch(ComboBox<Locale> combo, String filter, int offset, int limit) {
+    return getDataProvider(combo).fetch(new Query<>(offset, limit, null, null, filter))
+        .collect(Collectors.toList());
+  }
+
+  /** Returns the number of items that match {@code filter}, or of all the items if it's null. */
+  static int count(ComboBox<Locale> combo, String filter) {
+    return getDataProvider(combo).size(new Query<>(0, Integer.MAX_VALUE, null, null, filter));
+  }
+}
@@ -0,0 +1,116 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.count;
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.fetch;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LazyItemsTest {
+
+  private LocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    combo = new LocaleComboBox();
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(Locale.ENGLISH);
+    combo.setLazyItems(Arrays.asList(Locale.getAvailableLocales()));
+  }
+
+  @Test
+  public void testFilterMatchesPrefixIgnoringCase() {
+    List<Locale> expected = Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> loc.getDisplayName(Locale.ENGLISH).toLowerCase(Locale.ENGLISH)
+            .startsWith("ital"))
+        .sorted((l1, l2) -> l1.getDisplayName(Locale.ENGLISH).toLowerCase(Locale.ENGLISH)
+            .compareTo(l2.getDisplayName(Locale.ENGLISH).toLowerCase(Locale.ENGLISH)))
+        .collect(Collectors.toList());
+
+    Assert.assertFalse(expected.isEmpty());
+    Assert.assertEquals(expected.size(), count(combo, "ItAl"));
+    Assert.assertEquals(expected, fetch(combo, "ItAl", 0, 100));
+    Assert.assertEquals(expected.subList(1, 2), fetch(combo, "ItAl", 1, 1));
+  }
+
+  @Test
+  public void testEmptyFilterPagesThroughAllItems() {
+    int size = Locale.getAvailableLocales().length;
+    Assert.assertEquals(size, count(combo, null));
+    Assert.assertEquals(50, fetch(combo, null, 0, 50).size());
+    Assert.assertEquals(10, fetch(combo, null, size - 10, 50).size());
+  }
+
+  @Test
+  public void testSameLocalesShareCatalog() {
+    LocaleComboBox other = new LocaleComboBox();
+    other.setLazyItems(Arrays.asList(Locale.getAvailableLocales()));
+    Assert.assertSame(combo.getCatalog(), other.getCatalog());
+
+    other.setGroupedItems(Arrays.asList(Locale.getAvailableLocales()));
+    Assert.assertSame(combo.getCatalog(), other.getCatalog());
+
+    other.setLazyItems(List.of(Locale.ITALY, Locale.JAPAN));
+    Assert.assertNotSame(combo.getCatalog(), other.getCatalog());
+  }
+
+  @Test
+  public void testManyDisplayLocales() {
+    // more display locales than the indexes kept by the catalog
+    List<Locale> displayLocales = Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> !loc.getLanguage().isEmpty()).limit(100).toList();
+    for (Locale displayLocale : displayLocales) {
+      combo.setDisplayLocale(displayLocale);
+      Assert.assertEquals(Locale.getAvailableLocales().length, count(combo, null));
+    }
+    combo.setDisplayLocale(Locale.ENGLISH);
+    Assert.assertTrue(fetch(combo, "ital", 0, 100).contains(Locale.ITALY));
+  }
+
+  @Test
+  public void testNoMatches() {
+    Assert.assertEquals(0, count(combo, "zzzz"));
+    Assert.assertEquals(List.of(), fetch(combo, "zzzz", 0, 50));
+  }
+
+  @Test
+  public void testNormalizedFilterIgnoresDiacritics() {
+    combo.setDisplayLocale(new Locale("es"));
+    Assert.assertEquals(0, count(combo, "espanol"));
+
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    Assert.assertTrue(fetch(combo, "espanol", 0, 100).contains(new Locale("es")));
+    Assert.assertTrue(fetch(combo, "ESPAÑOL", 0, 100).contains(new Locale("es")));
+    Assert.assertEquals(count(combo, "espanol"), count(combo, "Español"));
+
+    combo.setDisplayLocale(new Locale("tr"));
+    Assert.assertTrue(fetch(combo, "turkce", 0, 100).contains(new Locale("tr")));
+  }
+}
@@ -0,0 +1,86 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.IntFunction;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+/**
+ * Compares the bytes allocated for components that share a catalog with those of components that
+ * get their own list of locales. Allocations are measured on the current thread, so that the
+ * result doesn't depend on the garbage collector.
+ */
+public class LocaleCatalogFootprintTest {
+
+  private static final int INSTANCES = 1_000;
+
+  private final com.sun.management.ThreadMXBean threadBean =
+      (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static List<Locale> createLocaleList() {
+    return Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> !loc.getDisplayName().isBlank())
+        .sorted((l1, l2) -> l1.getDisplayName().compareTo(l2.getDisplayName()))
+        .toList();
+  }
+
+  /** Returns the bytes allocated for {@value #INSTANCES} components created by {@code factory}. */
+  private long measure(IntFunction<LocaleComboBox> factory) {
+    long threadId = Thread.currentThread().getId();
+    LocaleComboBox[] instances = new LocaleComboBox[INSTANCES];
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < INSTANCES; i++) {
+      instances[i] = factory.apply(i);
+    }
+    long after = threadBean.getThreadAllocatedBytes(threadId);
+    Assert.assertNotNull(instances[INSTANCES - 1]);
+    return after - before;
+  }
+
+  @Test
+  public void testSharedCatalogReducesFootprint() {
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+
+    List<Locale> locales = createLocaleList();
+    LocaleCatalog catalog = LocaleCatalog.of(locales);
+    // warm-up, so that class initialization and shared caches are not measured
+    measure(i -> new LocaleComboBox(catalog));
+
+    // each instance gets its own copy of the list, as if it had been built per instance
+    long perInstanceLists = measure(i -> new LocaleComboBox(new ArrayList<>(locales)));
+    long sharedCatalog = measure(i -> new LocaleComboBox(catalog));
+
+    // a list of references to the locales is at least 4 bytes per locale
+    long minimumSavings = (long) INSTANCES * catalog.size() * 4;
+    Assert.assertTrue("Expected savings of " + minimumSavings + " bytes, but measured "
+        + perInstanceLists + " vs " + sharedCatalog,
+        perInstanceLists - sharedCatalog >= minimumSavings);
+  }
+}
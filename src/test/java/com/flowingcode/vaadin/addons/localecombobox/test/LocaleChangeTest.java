@@ -0,0 +1,103 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.vaadin.flow.component.UI;
+import java.util.List;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocaleChangeTest {
+
+  @SuppressWarnings("serial")
+  private static class CountingLocaleComboBox extends LocaleComboBox {
+
+    private int valueRefreshes;
+
+    CountingLocaleComboBox() {
+      super(List.of(Locale.ITALY, Locale.US, Locale.GERMANY));
+    }
+
+    @Override
+    protected void refreshValue() {
+      valueRefreshes++;
+      super.refreshValue();
+    }
+  }
+
+  private UI ui;
+
+  private CountingLocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    ui = new UI();
+    ui.setLocale(Locale.US);
+    UI.setCurrent(ui);
+    combo = new CountingLocaleComboBox();
+    ui.add(combo);
+  }
+
+  @After
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  private String getLabel(Locale locale) {
+    return combo.getItemLabelGenerator().apply(locale);
+  }
+
+  @Test
+  public void testRelabelOnUILocaleChange() {
+    Assert.assertEquals("Italian (Italy)", getLabel(Locale.ITALY));
+    int valueRefreshes = combo.valueRefreshes;
+
+    ui.setLocale(Locale.GERMANY);
+    Assert.assertEquals("Italienisch (Italien)", getLabel(Locale.ITALY));
+    Assert.assertEquals(valueRefreshes + 1, combo.valueRefreshes);
+  }
+
+  @Test
+  public void testNoRelabelWhenDisplayLocaleIsUnchanged() {
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(Locale.ITALY);
+    int valueRefreshes = combo.valueRefreshes;
+
+    ui.setLocale(Locale.GERMANY);
+    Assert.assertEquals("italiano (Italia)", getLabel(Locale.ITALY));
+    Assert.assertEquals(valueRefreshes, combo.valueRefreshes);
+  }
+
+  @Test
+  public void testRelabelOnSelectedValue() {
+    combo.setDisplayMode(DisplayMode.SELECTED);
+    combo.setValue(Locale.GERMANY);
+    Assert.assertEquals("Italienisch (Italien)", getLabel(Locale.ITALY));
+
+    int valueRefreshes = combo.valueRefreshes;
+    combo.setDisplayMode(DisplayMode.SELECTED);
+    Assert.assertEquals(valueRefreshes, combo.valueRefreshes);
+  }
+}
@@ -0,0 +1,174 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import static com.flowingcode.vaadin.addons.localecombobox.LocaleCountryConverter.convertToISO3166Code;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCountryConverter;
+import java.lang.management.ManagementFactory;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+public class LocaleCountryConverterTest {
+
+  @Test
+  public void testConvertToISO3166Code() {
+    Assert.assertEquals(Optional.of("AR"), convertToISO3166Code("AR"));
+    Assert.assertEquals(Optional.of("AR"), convertToISO3166Code("ARG"));
+    Assert.assertEquals(Optional.of("AR"), convertToISO3166Code("aRg"));
+    Assert.assertEquals(Optional.of("AR"), convertToISO3166Code("032"));
+    Assert.assertEquals(Optional.of("AR"), convertToISO3166Code("32"));
+    Assert.assertEquals(Optional.of("AF"), convertToISO3166Code("004"));
+    Assert.assertEquals(Optional.empty(), convertToISO3166Code("ZZZ"));
+    Assert.assertEquals(Optional.empty(), convertToISO3166Code("999"));
+    Assert.assertEquals(Optional.empty(), convertToISO3166Code("0032"));
+    Assert.assertEquals(Optional.empty(), convertToISO3166Code(""));
+  }
+
+  @Test
+  public void testConvertToISO3166CodeFromBuffer() {
+    StringBuilder buffer = new StringBuilder("uy;URY;858");
+    Assert.assertEquals(Optional.of("UY"), convertToISO3166Code(buffer, 0, 2));
+    Assert.assertEquals(Optional.of("UY"), convertToISO3166Code(buffer, 3, 6));
+    Assert.assertEquals(Optional.of("UY"), convertToISO3166Code(buffer, 7, 10));
+    Assert.assertEquals(Optional.empty(), convertToISO3166Code(buffer, 1, 4));
+  }
+
+  @Test
+  public void testConvertToISO3166CodeDoesNotAllocate() {
+    StringBuilder buffer = new StringBuilder("ar;ARG;032;Gb;gbr;826");
+    int[][] slices = {{0, 2}, {3, 6}, {7, 10}, {11, 13}, {14, 17}, {18, 21}};
+    int lookups = 1_000_000;
+
+    assertNoAllocation(lookups, () -> {
+      int found = 0;
+      for (int i = 0; i < lookups; i++) {
+        int[] slice = slices[i % slices.length];
+        if (convertToISO3166Code(buffer, slice[0], slice[1]).isPresent()) {
+          found++;
+        }
+      }
+      Assert.assertEquals(lookups, found);
+    });
+  }
+
+  @Test
+  public void testConvertToFlagCode() {
+    Assert.assertEquals("ar", LocaleCountryConverter.convertToFlagCode("AR"));
+    Assert.assertEquals("us", LocaleCountryConverter.convertToFlagCode("us"));
+    Assert.assertEquals("gb", LocaleCountryConverter.convertToFlagCode("Gb"));
+    Assert.assertEquals("ar", LocaleCountryConverter.convertToFlagCode("ARG"));
+    Assert.assertNull(LocaleCountryConverter.convertToFlagCode("ZZ"));
+    Assert.assertNull(LocaleCountryConverter.convertToFlagCode(""));
+  }
+
+  @Test
+  public void testConvertToFlagCodeDoesNotAllocate() {
+    String[] codes = {"AR", "us", "Gb", "ZZ", ""};
+    int lookups = 1_000_000;
+
+    assertNoAllocation(lookups, () -> {
+      int found = 0;
+      for (int i = 0; i < lookups; i++) {
+        if (LocaleCountryConverter.convertToFlagCode(codes[i % codes.length]) != null) {
+          found++;
+        }
+      }
+      Assert.assertEquals(lookups * 3 / codes.length, found);
+    });
+  }
+
+  @Test
+  public void testConvertToISO3166CodesInBulk() {
+    CharSequence[] codes = {"AR", "usa", "826", "ZZ", new StringBuilder("uy")};
+    String[] output = new String[codes.length + 1];
+    output[3] = "stale";
+
+    Assert.assertEquals(4, LocaleCountryConverter.convertToISO3166Codes(codes, output));
+    Assert.assertArrayEquals(new String[] {"AR", "US", "GB", null, "UY", null}, output);
+  }
+
+  @Test
+  public void testConvertToISO3166CodesFromStream() {
+    String[] output = new String[4];
+    Assert.assertEquals(2,
+        LocaleCountryConverter.convertToISO3166Codes(Stream.of("ARG", "999", "de"), output));
+    Assert.assertArrayEquals(new String[] {"AR", null, "DE", null}, output);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void testConvertToISO3166CodesShortOutput() {
+    LocaleCountryConverter.convertToISO3166Codes(new String[] {"AR", "US"}, new String[1]);
+  }
+
+  @Test
+  public void testConvertToISO3166CodesDoesNotAllocate() {
+    CharSequence[] codes = {"ar", "ARG", "032", "Gb", "gbr", "826", "ZZ", "999"};
+    String[] output = new String[codes.length];
+    int lookups = 1_000_000;
+
+    assertNoAllocation(lookups, () -> {
+      int found = 0;
+      for (int i = 0; i < lookups; i += codes.length) {
+        found += LocaleCountryConverter.convertToISO3166Codes(codes, output);
+      }
+      Assert.assertEquals(lookups * 6 / codes.length, found);
+    });
+  }
+
+  @Test
+  public void testConvertToAlpha3Code() {
+    Assert.assertEquals("ARG", LocaleCountryConverter.convertToAlpha3Code("AR"));
+    Assert.assertEquals("URY", LocaleCountryConverter.convertToAlpha3Code("uy"));
+    Assert.assertEquals("GBR", LocaleCountryConverter.convertToAlpha3Code("826"));
+    Assert.assertEquals("ALA", LocaleCountryConverter.convertToAlpha3Code("ala"));
+    Assert.assertNull(LocaleCountryConverter.convertToAlpha3Code("ZZ"));
+  }
+
+  @Test
+  public void testConvertToNumericCode() {
+    Assert.assertEquals(32, LocaleCountryConverter.convertToNumericCode("AR"));
+    Assert.assertEquals(4, LocaleCountryConverter.convertToNumericCode("afg"));
+    Assert.assertEquals(858, LocaleCountryConverter.convertToNumericCode("858"));
+    Assert.assertEquals(-1, LocaleCountryConverter.convertToNumericCode("ZZ"));
+    Assert.assertEquals(-1, LocaleCountryConverter.convertToNumericCode(""));
+  }
+
+  private static void assertNoAllocation(int lookups, Runnable task) {
+    com.sun.management.ThreadMXBean threadBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+    threadBean.setThreadAllocatedMemoryEnabled(true);
+    long threadId = Thread.currentThread().getId();
+
+    // warm-up, so that class initialization is not measured
+    task.run();
+    long before = threadBean.getThreadAllocatedBytes(threadId);
+    task.run();
+    long allocated = threadBean.getThreadAllocatedBytes(threadId) - before;
+
+    // allow for the bookkeeping of the measurement itself, but not for one byte per lookup
+    Assert.assertTrue("Allocated " + allocated + " bytes in " + lookups + " lookups",
+        allocated < 1024);
+  }
+}
@@ -0,0 +1,151 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates {@code LocaleCountryData.java} from the ISO 3166-1 data file.
+ *
+ * <p>Each line of the data file contains the alpha-2, alpha-3 and numeric codes of a country,
+ * separated by commas. Lines starting with {@code #} are ignored. The codes are packed into
+ * constant strings, so that {@code LocaleCountryConverter} can build its tables without parsing
+ * or allocating anything. After editing the data file, run:
+ *
+ * <pre>
+ * java src/test/java/com/flowingcode/vaadin/addons/localecombobox/test/LocaleCountryDataGenerator.java
+ * </pre>
+ */
+public final class LocaleCountryDataGenerator {
+
+  /** The ISO 3166-1 data file. */
+  public static final Path DATA_FILE = Paths.get("src/main/data/iso3166.csv");
+
+  /** The generated source file. */
+  public static final Path SOURCE_FILE = Paths.get(
+      "src/main/java/com/flowingcode/vaadin/addons/localecombobox/LocaleCountryData.java");
+
+  private static final int LINE_WIDTH = 100;
+
+  private static final String INDENT = "      ";
+
+  private LocaleCountryDataGenerator() {}
+
+  /**
+   * Returns the source of {@code LocaleCountryData.java} for the given data file.
+   *
+   * @param dataFile the ISO 3166-1 data file
+   * @param header the license header of the generated file
+   * @return the generated source
+   * @throws IOException if the data file cannot be read
+   * @throws IllegalArgumentException if a line of the data file is malformed
+   */
+  public static String generate(Path dataFile, String header) throws IOException {
+    List<String> alpha2 = new ArrayList<>();
+    List<String> alpha3 = new ArrayList<>();
+    List<String> numeric = new ArrayList<>();
+    int count = 0;
+    for (String line : Files.readAllLines(dataFile, StandardCharsets.UTF_8)) {
+      if (line.isBlank() || line.startsWith("#")) {
+        continue;
+      }
+      String[] fields = line.split(",");
+      if (fields.length != 3 || !fields[0].matches("[A-Z]{2}") || !fields[1].matches("[A-Z]{3}")
+          || !fields[2].matches("[0-9]{1,3}")) {
+        throw new IllegalArgumentException("Malformed line: " + line);
+      }
+      alpha2.add(fields[0]);
+      alpha3.add(fields[1]);
+      numeric.add(escape(Integer.parseInt(fields[2])));
+      count++;
+    }
+
+    StringBuilder sb = new StringBuilder(header);
+    sb.append("package com.flowingcode.vaadin.addons.localecombobox;\n\n");
+    sb.append("/**\n");
+    sb.append(" * ISO 3166-1 country codes, packed into constant strings.\n");
+    sb.append(" *\n");
+    sb.append(" * <p>Generated from {@code ").append(DATA_FILE.toString().replace('\\', '/'))
+        .append("} by {@code LocaleCountryDataGenerator}. Do not\n");
+    sb.append(" * edit.\n");
+    sb.append(" */\n");
+    sb.append("final class LocaleCountryData {\n\n");
+    sb.append("  /** The number of countries. */\n");
+    sb.append("  static final int COUNT = ").append(count).append(";\n\n");
+    sb.append("  /** The alpha-2 codes, two characters per country. */\n");
+    appendConstant(sb, "ALPHA2", alpha2);
+    sb.append("  /** The alpha-3 codes, three characters per country. */\n");
+    appendConstant(sb, "ALPHA3", alpha3);
+    sb.append("  /** The numeric codes, one character per country. */\n");
+    appendConstant(sb, "NUMERIC", numeric);
+    sb.append("  private LocaleCountryData() {}\n");
+    sb.append("}\n");
+    return sb.toString();
+  }
+
+  /**
+   * Returns the escape sequence of a character. Octal escapes are used below {@code \u0100},
+   * since Unicode escapes of line terminators are not allowed in string literals.
+   */
+  private static String escape(int c) {
+    return c < 0x100 ? String.format("\\%03o", c) : String.format("\\u%04x", c);
+  }
+
+  /** Appends a string constant, split into literals that fit the line width. */
+  private static void appendConstant(StringBuilder sb, String name, List<String> tokens) {
+    int width = LINE_WIDTH - INDENT.length() - "+ \"\";".length();
+    sb.append("  static final String ").append(name).append(" =\n");
+    StringBuilder line = new StringBuilder();
+    String prefix = "\"";
+    for (String token : tokens) {
+      if (line.length() + token.length() > width) {
+        sb.append(INDENT).append(prefix).append(line).append("\"\n");
+        line.setLength(0);
+        prefix = "+ \"";
+      }
+      line.append(token);
+    }
+    sb.append(INDENT).append(prefix).append(line).append("\";\n\n");
+  }
+
+  /** Returns the license header of a source file, up to the package declaration. */
+  static String readHeader(Path sourceFile) throws IOException {
+    String source = Files.readString(sourceFile, StandardCharsets.UTF_8);
+    return source.substring(0, source.indexOf("package "));
+  }
+
+  /**
+   * Command line entry point. Must be run from the project directory.
+   *
+   * @param args ignored
+   * @throws IOException if the source file cannot be generated
+   */
+  public static void main(String[] args) throws IOException {
+    String header = readHeader(Paths.get(
+        "src/main/java/com/flowingcode/vaadin/addons/localecombobox/LocaleCountryConverter.java"));
+    Files.writeString(SOURCE_FILE, generate(DATA_FILE, header), StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,39 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocaleCountryDataTest {
+
+  @Test
+  public void testGeneratedSourceIsUpToDate() throws IOException {
+    String expected = LocaleCountryDataGenerator.generate(LocaleCountryDataGenerator.DATA_FILE,
+        LocaleCountryDataGenerator.readHeader(LocaleCountryDataGenerator.SOURCE_FILE));
+    Assert.assertEquals(
+        "LocaleCountryData.java is out of date, run LocaleCountryDataGenerator to regenerate it",
+        expected,
+        Files.readString(LocaleCountryDataGenerator.SOURCE_FILE, StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,109 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class LocaleDisplayNameCacheTest {
+
+  private int maximumSize;
+
+  @Before
+  public void setup() {
+    maximumSize = LocaleDisplayNameCache.getMaximumSize();
+    LocaleDisplayNameCache.clear();
+  }
+
+  @After
+  public void teardown() {
+    LocaleDisplayNameCache.setMaximumSize(maximumSize);
+    LocaleDisplayNameCache.clear();
+  }
+
+  @Test
+  public void testHitAndMiss() {
+    Assert.assertEquals(Locale.ITALY.getDisplayName(Locale.ENGLISH),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH));
+    Assert.assertEquals(0, LocaleDisplayNameCache.getHitCount());
+    Assert.assertEquals(1, LocaleDisplayNameCache.getMissCount());
+
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    Assert.assertEquals(1, LocaleDisplayNameCache.getHitCount());
+    Assert.assertEquals(1, LocaleDisplayNameCache.getMissCount());
+  }
+
+  @Test
+  public void testNamesAreComputedSeparately() {
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    Assert.assertEquals(1, LocaleDisplayNameCache.size());
+
+    // the country name is computed on first use, in the same entry
+    Assert.assertEquals(Locale.ITALY.getDisplayCountry(Locale.ENGLISH),
+        LocaleDisplayNameCache.getDisplayCountry(Locale.ITALY, Locale.ENGLISH));
+    Assert.assertEquals(2, LocaleDisplayNameCache.getMissCount());
+    Assert.assertEquals(1, LocaleDisplayNameCache.size());
+
+    LocaleDisplayNameCache.getDisplayCountry(Locale.ITALY, Locale.ENGLISH);
+    Assert.assertEquals(1, LocaleDisplayNameCache.getHitCount());
+  }
+
+  @Test
+  public void testSizeIsBounded() {
+    LocaleDisplayNameCache.setMaximumSize(10);
+    for (Locale locale : Locale.getAvailableLocales()) {
+      LocaleDisplayNameCache.getDisplayName(locale, Locale.ENGLISH);
+      Assert.assertTrue(LocaleDisplayNameCache.size() <= 10);
+    }
+    Assert.assertEquals(10, LocaleDisplayNameCache.size());
+
+    LocaleDisplayNameCache.setMaximumSize(3);
+    Assert.assertEquals(3, LocaleDisplayNameCache.size());
+  }
+
+  @Test
+  public void testRecentlyUsedEntryIsKept() {
+    LocaleDisplayNameCache.setMaximumSize(2);
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    LocaleDisplayNameCache.getDisplayName(Locale.GERMANY, Locale.ENGLISH);
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    LocaleDisplayNameCache.getDisplayName(Locale.FRANCE, Locale.ENGLISH);
+    Assert.assertEquals(2, LocaleDisplayNameCache.size());
+
+    // ITALY was read after GERMANY was added, so GERMANY is evicted
+    long misses = LocaleDisplayNameCache.getMissCount();
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    Assert.assertEquals(misses, LocaleDisplayNameCache.getMissCount());
+    LocaleDisplayNameCache.getDisplayName(Locale.GERMANY, Locale.ENGLISH);
+    Assert.assertEquals(misses + 1, LocaleDisplayNameCache.getMissCount());
+  }
+
+  @Test
+  public void testZeroMaximumSizeDisablesCaching() {
+    LocaleDisplayNameCache.setMaximumSize(0);
+    Assert.assertEquals(Locale.ITALY.getDisplayName(Locale.ENGLISH),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH));
+    Assert.assertEquals(0, LocaleDisplayNameCache.size());
+  }
+}
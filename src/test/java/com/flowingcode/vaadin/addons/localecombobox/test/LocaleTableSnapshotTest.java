@@ -0,0 +1,144 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleTableSnapshot;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class LocaleTableSnapshotTest {
+
+  private static final List<Locale> ITEMS =
+      List.of(Locale.ITALY, Locale.US, Locale.GERMANY, new Locale("es"), new Locale("tr"));
+
+  private static final List<Locale> DISPLAY_LOCALES =
+      List.of(Locale.ENGLISH, new Locale("es"), new Locale("tr"));
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  @Before
+  public void setup() throws IOException {
+    file = folder.getRoot().toPath().resolve("locales.bin");
+    LocaleDisplayNameCache.clear();
+  }
+
+  @After
+  public void tearDown() {
+    LocaleTableSnapshot.unload();
+    LocaleDisplayNameCache.clear();
+  }
+
+  @Test
+  public void testNamesFromSnapshot() throws IOException {
+    LocaleTableSnapshot.write(file, ITEMS, DISPLAY_LOCALES);
+    Assert.assertTrue(LocaleTableSnapshot.load(file));
+
+    for (Locale displayLocale : DISPLAY_LOCALES) {
+      for (Locale locale : ITEMS) {
+        Assert.assertEquals(locale.getDisplayName(displayLocale),
+            LocaleDisplayNameCache.getDisplayName(locale, displayLocale));
+        Assert.assertEquals(locale.getDisplayCountry(displayLocale),
+            LocaleDisplayNameCache.getDisplayCountry(locale, displayLocale));
+      }
+    }
+
+    // pairs that are not in the snapshot are computed
+    Assert.assertEquals(Locale.ITALY.getDisplayName(Locale.FRENCH),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.FRENCH));
+  }
+
+  @Test
+  public void testSearchKeysFromSnapshot() throws IOException {
+    LocaleTableSnapshot.write(file, ITEMS, DISPLAY_LOCALES);
+    Assert.assertTrue(LocaleTableSnapshot.load(file));
+
+    LocaleComboBox combo = new LocaleComboBox();
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(new Locale("tr"));
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    combo.setLazyItems(ITEMS);
+
+    @SuppressWarnings("unchecked")
+    DataProvider<Locale, String> dataProvider =
+        (DataProvider<Locale, String>) combo.getDataProvider();
+    Assert.assertEquals(List.of(new Locale("tr")),
+        dataProvider.fetch(new Query<>(0, 10, null, null, "turkce")).collect(Collectors.toList()));
+  }
+
+  @Test
+  public void testMissingFileIsNotLoaded() throws IOException {
+    Assert.assertFalse(LocaleTableSnapshot.load(file));
+  }
+
+  @Test
+  public void testTruncatedFileIsNotLoaded() throws IOException {
+    LocaleTableSnapshot.write(file, ITEMS, DISPLAY_LOCALES);
+    byte[] bytes = Files.readAllBytes(file);
+    for (int length : new int[] {0, 2, 12, bytes.length / 2, bytes.length - 1}) {
+      Files.write(file, Arrays.copyOf(bytes, length));
+      Assert.assertFalse("truncated to " + length + " bytes", LocaleTableSnapshot.load(file));
+    }
+  }
+
+  @Test
+  public void testWriteReplacesLoadedSnapshot() throws IOException {
+    LocaleTableSnapshot.write(file, ITEMS, List.of(Locale.ENGLISH));
+    Assert.assertTrue(LocaleTableSnapshot.load(file));
+
+    // the loaded snapshot keeps its contents while the file is replaced
+    LocaleTableSnapshot.write(file, ITEMS, DISPLAY_LOCALES);
+    Assert.assertEquals(Locale.ITALY.getDisplayName(Locale.ENGLISH),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH));
+    try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+      Assert.assertEquals(List.of(file), files.toList());
+    }
+
+    Assert.assertTrue(LocaleTableSnapshot.load(file));
+    Assert.assertEquals(Locale.ITALY.getDisplayName(new Locale("tr")),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, new Locale("tr")));
+  }
+
+  @Test(expected = IOException.class)
+  public void testMalformedFile() throws IOException {
+    Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+    LocaleTableSnapshot.load(file);
+  }
+}
@@ -0,0 +1,155 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBoxMetrics;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache;
+import com.vaadin.flow.data.provider.DataProvider;
+import com.vaadin.flow.data.provider.Query;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MetricsTest {
+
+  private final AtomicInteger labels = new AtomicInteger();
+
+  private final AtomicInteger hits = new AtomicInteger();
+
+  private final AtomicInteger misses = new AtomicInteger();
+
+  private final AtomicInteger unknownFlags = new AtomicInteger();
+
+  private final AtomicInteger prefixUpdates = new AtomicInteger();
+
+  private final AtomicInteger fetches = new AtomicInteger();
+
+  private final AtomicLong fetchNanos = new AtomicLong();
+
+  private final AtomicInteger properties = new AtomicInteger();
+
+  @Before
+  public void setup() {
+    LocaleDisplayNameCache.clear();
+    LocaleComboBoxMetrics.setListener(new LocaleComboBoxMetrics() {
+      @Override
+      public void labelComputed(Locale locale, Locale displayLocale) {
+        labels.incrementAndGet();
+      }
+
+      @Override
+      public void rendererPropertyEvaluated(String property) {
+        properties.incrementAndGet();
+      }
+
+      @Override
+      public void displayNameCacheHit(Locale locale, Locale displayLocale) {
+        hits.incrementAndGet();
+      }
+
+      @Override
+      public void displayNameCacheMiss(Locale locale, Locale displayLocale) {
+        misses.incrementAndGet();
+      }
+
+      @Override
+      public void flagCodeLookup(String countryCode, boolean found) {
+        if (!found) {
+          unknownFlags.incrementAndGet();
+        }
+      }
+
+      @Override
+      public void prefixFlagUpdated(Locale locale) {
+        prefixUpdates.incrementAndGet();
+      }
+
+      @Override
+      public void dataFetched(int offset, int limit, long nanos) {
+        fetches.incrementAndGet();
+        fetchNanos.addAndGet(nanos);
+      }
+    });
+  }
+
+  @After
+  public void tearDown() {
+    LocaleComboBoxMetrics.setListener(LocaleComboBoxMetrics.NONE);
+  }
+
+  @Test
+  public void testLabelsAndCache() {
+    LocaleComboBox combo = new LocaleComboBox(List.of(Locale.ITALY, Locale.US));
+    combo.getItemLabelGenerator().apply(Locale.ITALY);
+    combo.getItemLabelGenerator().apply(Locale.ITALY);
+
+    Assert.assertEquals(2, labels.get());
+    Assert.assertEquals(1, misses.get());
+    Assert.assertEquals(1, hits.get());
+  }
+
+  @Test
+  public void testPrefixFlag() {
+    LocaleComboBox combo = new LocaleComboBox(List.of(Locale.ITALY, Locale.ENGLISH));
+    combo.setValue(Locale.ITALY);
+    combo.setValue(Locale.ENGLISH);
+
+    Assert.assertEquals(2, prefixUpdates.get());
+    Assert.assertEquals(1, unknownFlags.get());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void testLazyFetch() {
+    LocaleComboBox combo = new LocaleComboBox();
+    combo.setLazyItems(List.of(Locale.ITALY, Locale.US, Locale.GERMANY));
+    DataProvider<Locale, String> dataProvider =
+        (DataProvider<Locale, String>) combo.getDataProvider();
+
+    Assert.assertEquals(2, dataProvider.fetch(new Query<>(0, 2, null, null, null)).count());
+    Assert.assertEquals(1, fetches.get());
+    Assert.assertTrue(fetchNanos.get() > 0);
+  }
+
+  @Test
+  public void testRendererProperties() {
+    CapturingLocaleComboBox combo = new CapturingLocaleComboBox();
+    int count = combo.evaluateRendererProperties(Locale.ITALY);
+    Assert.assertTrue(count > 0);
+    Assert.assertEquals(count, properties.get());
+  }
+
+  @Test
+  public void testDisabledListener() {
+    LocaleComboBoxMetrics.setListener(LocaleComboBoxMetrics.NONE);
+    LocaleComboBox combo = new LocaleComboBox(List.of(Locale.ITALY));
+    combo.setValue(Locale.ITALY);
+    combo.getItemLabelGenerator().apply(Locale.ITALY);
+    new CapturingLocaleComboBox().evaluateRendererProperties(Locale.ITALY);
+
+    Assert.assertEquals(0, labels.get() + misses.get() + prefixUpdates.get() + properties.get());
+  }
+}
@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.count;
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.fetch;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MultilingualFilterTest {
+
+  private static final LocaleCatalog CATALOG =
+      LocaleCatalog.of(Arrays.asList(Locale.getAvailableLocales()));
+
+  private CapturingLocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    combo = new CapturingLocaleComboBox();
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(new Locale("es"));
+    combo.setFilterMode(FilterMode.MULTILINGUAL);
+  }
+
+  @Test
+  public void testLazyItemsMatchAllNames() {
+    combo.setLazyItems(CATALOG);
+    for (String filter : List.of("alem", "deutsch", "German", "日本語", "japon", "Japanese")) {
+      List<Locale> items = fetch(combo, filter, 0, 1000);
+      Assert.assertEquals(filter, count(combo, filter), items.size());
+      Assert.assertTrue(filter, items.contains(Locale.GERMAN) || items.contains(Locale.JAPANESE));
+    }
+  }
+
+  @Test
+  public void testLazyItemsAreListedOnce() {
+    combo.setLazyItems(CATALOG);
+    // "espanol (argentina)" and "spanish (argentina)" both start with the filter
+    List<Locale> items = fetch(combo, "espa", 0, 1000);
+    Assert.assertEquals(items.stream().distinct().count(), items.size());
+    Assert.assertEquals(count(combo, "espa"), items.size());
+    Assert.assertEquals(items.subList(1, 3), fetch(combo, "espa", 1, 2));
+    Assert.assertEquals(CATALOG.size(), count(combo, ""));
+  }
+
+  @Test
+  public void testEmptyFilterListsDisplayNames() {
+    combo.setDisplayLocale(Locale.ENGLISH);
+    combo.setLazyItems(CATALOG);
+    // "Inari Sami" is named "anarâškielâ" in its own language, but must not be listed as an "a"
+    Locale inariSami = new Locale("smn");
+    Assume.assumeTrue(CATALOG.getLocales().contains(inariSami));
+    List<Locale> items = fetch(combo, null, 0, CATALOG.size());
+    Assert.assertTrue(items.indexOf(inariSami) > items.indexOf(new Locale("ar")));
+    Assert.assertEquals(items, fetch(combo, "", 0, CATALOG.size()));
+    Assert.assertEquals(CATALOG.size(), count(combo, null));
+
+    // the same order as when only the names in the display locale are searched
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    Assert.assertEquals(items, fetch(combo, null, 0, CATALOG.size()));
+  }
+
+  @Test
+  public void testInMemoryItemsMatchAllNames() {
+    combo.setItems(CATALOG);
+    Assert.assertTrue(combo.getItemFilter().test(Locale.GERMAN, "deutsch"));
+    Assert.assertTrue(combo.getItemFilter().test(Locale.GERMAN, "german"));
+    Assert.assertTrue(combo.getItemFilter().test(Locale.GERMAN, "alemán"));
+    Assert.assertFalse(combo.getItemFilter().test(Locale.GERMAN, "japan"));
+
+    combo.setItems(Arrays.asList(Locale.getAvailableLocales()));
+    Assert.assertTrue(combo.getItemFilter().test(Locale.JAPANESE, "日本"));
+    Assert.assertTrue(combo.getItemFilter().test(Locale.JAPANESE, "japanese"));
+
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    Assert.assertFalse(combo.getItemFilter().test(Locale.JAPANESE, "japanese"));
+  }
+
+  @Test
+  public void testNormalizedModeMatchesDisplayNameOnly() {
+    combo.setLazyItems(CATALOG);
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    Assert.assertFalse(fetch(combo, "deutsch", 0, 1000).contains(Locale.GERMAN));
+  }
+}
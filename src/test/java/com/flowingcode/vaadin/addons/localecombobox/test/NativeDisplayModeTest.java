@@ -0,0 +1,98 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import static com.flowingcode.vaadin.addons.localecombobox.test.ItemQueries.fetch;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.FilterMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NativeDisplayModeTest {
+
+  private static final LocaleCatalog CATALOG =
+      LocaleCatalog.of(Arrays.asList(Locale.getAvailableLocales()));
+
+  private LocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    combo = new LocaleComboBox();
+    combo.setDisplayMode(DisplayMode.NATIVE);
+  }
+
+  @Test
+  public void testItemsAreNamedInTheirOwnLanguage() {
+    combo.setItems(CATALOG);
+    for (Locale locale : List.of(Locale.GERMANY, Locale.JAPAN, new Locale("es", "AR"))) {
+      Assert.assertEquals(locale.getDisplayName(locale),
+          combo.getItemLabelGenerator().apply(locale));
+    }
+  }
+
+  @Test
+  public void testDisplayModeCanBeSwitched() {
+    combo.setItems(CATALOG);
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(Locale.ENGLISH);
+    Assert.assertEquals("German", combo.getItemLabelGenerator().apply(Locale.GERMAN));
+    combo.setDisplayMode(DisplayMode.NATIVE);
+    Assert.assertEquals("Deutsch", combo.getItemLabelGenerator().apply(Locale.GERMAN));
+  }
+
+  @Test
+  public void testLazyItemsAreSortedByNativeName() {
+    combo.setLazyItems(CATALOG);
+    List<Locale> items = fetch(combo, null, 0, Integer.MAX_VALUE);
+    Assert.assertEquals(CATALOG.size(), items.size());
+    for (int i = 1; i < items.size(); i++) {
+      Locale previous = items.get(i - 1);
+      Locale current = items.get(i);
+      Assert.assertTrue(previous + " " + current,
+          previous.getDisplayName(previous).toLowerCase(previous)
+              .compareTo(current.getDisplayName(current).toLowerCase(current)) <= 0);
+    }
+  }
+
+  @Test
+  public void testLazyItemsMatchNativeNames() {
+    combo.setLazyItems(CATALOG);
+    combo.setFilterMode(FilterMode.NORMALIZED);
+    Assert.assertTrue(fetch(combo, "deutsch", 0, 1000).contains(Locale.GERMAN));
+    Assert.assertTrue(fetch(combo, "espanol", 0, 1000).contains(new Locale("es")));
+    Assert.assertTrue(fetch(combo, "日本語", 0, 1000).contains(Locale.JAPANESE));
+    Assert.assertFalse(fetch(combo, "german", 0, 1000).contains(Locale.GERMAN));
+  }
+
+  @Test
+  public void testSortedByNativeNameIsShared() {
+    LocaleCatalog sorted = CATALOG.sortedByNativeName();
+    Assert.assertSame(sorted, CATALOG.sortedByNativeName());
+    Assert.assertSame(sorted, sorted.sortedByNativeName());
+    Assert.assertEquals(CATALOG.size(), sorted.size());
+  }
+}
@@ -0,0 +1,144 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.data.provider.DataGenerator;
+import com.vaadin.flow.data.provider.KeyMapper;
+import com.vaadin.flow.data.renderer.LitRenderer;
+import com.vaadin.flow.dom.Element;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures the JSON that is sent to the client for a page of items. Each row is generated as the
+ * data communicator does: the item key, the item label and the properties of the renderer.
+ */
+public class PayloadSizeTest {
+
+  /** The default page size of the combobox. */
+  private static final int PAGE_SIZE = 50;
+
+  private CapturingLocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    UI ui = new UI();
+    ui.setLocale(Locale.ENGLISH);
+    UI.setCurrent(ui);
+    combo = new CapturingLocaleComboBox(LocaleCatalog.ofAvailableLocales());
+    ui.add(combo);
+  }
+
+  @After
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  /** Creates an empty JSON object of the type expected by {@link DataGenerator#generateData}. */
+  private static Object createJsonObject(Method generateData) throws ReflectiveOperationException {
+    // elemental.json.JsonObject in Vaadin 24, ObjectNode in Vaadin 25
+    Class<?> type = generateData.getParameterTypes()[1];
+    if (type.getName().equals("elemental.json.JsonObject")) {
+      return Class.forName("elemental.json.Json").getMethod("createObject").invoke(null);
+    }
+    return Class.forName("com.vaadin.flow.internal.JacksonUtils").getMethod("createObjectNode")
+        .invoke(null);
+  }
+
+  /** Returns the JSON of each item of the first page, as rendered by {@code renderer}. */
+  private List<String> render(LitRenderer<Locale> renderer) throws ReflectiveOperationException {
+    KeyMapper<Locale> keyMapper = new KeyMapper<>();
+    DataGenerator<Locale> generator =
+        renderer.render(new Element("div"), keyMapper).getDataGenerator().orElseThrow();
+    Method generateData = Arrays.stream(DataGenerator.class.getMethods())
+        .filter(method -> method.getName().equals("generateData")).findFirst().orElseThrow();
+    Method put = generateData.getParameterTypes()[1].getMethod("put", String.class, String.class);
+
+    List<Locale> page = ItemQueries.fetch(combo, null, 0, PAGE_SIZE);
+    Assert.assertEquals(PAGE_SIZE, page.size());
+    String[] rows = new String[page.size()];
+    for (int i = 0; i < rows.length; i++) {
+      Locale item = page.get(i);
+      Object json = createJsonObject(generateData);
+      put.invoke(json, "key", keyMapper.key(item));
+      put.invoke(json, "label", combo.getItemLabelGenerator().apply(item));
+      generateData.invoke(generator, item, json);
+      rows[i] = json.toString();
+    }
+    return Arrays.asList(rows);
+  }
+
+  /** Checks the average size of the rows rendered by {@code renderer} against a budget. */
+  private void assertPayload(String name, LitRenderer<Locale> renderer, int bytesPerRowBudget)
+      throws ReflectiveOperationException {
+    List<String> rows = render(renderer);
+    int bytesPerRow = (int) rows.stream()
+        .mapToInt(row -> row.getBytes(StandardCharsets.UTF_8).length).average().orElseThrow();
+    Assert.assertTrue(name + " uses " + bytesPerRow + " bytes per row, the budget is "
+        + bytesPerRowBudget + ", e.g. " + rows.get(0), bytesPerRow <= bytesPerRowBudget);
+  }
+
+  @Test
+  public void testLocaleRendererPayload() throws ReflectiveOperationException {
+    assertPayload("default renderer", combo.getLitRenderer(), 260);
+  }
+
+  @Test
+  public void testLocaleRendererPayloadWithoutFlags() throws ReflectiveOperationException {
+    combo.setHasFlags(false);
+    assertPayload("default renderer without flags", combo.getLitRenderer(), 215);
+  }
+
+  @Test
+  public void testCompactLocaleRendererPayload() throws ReflectiveOperationException {
+    combo.setCompactRendering(true);
+    assertPayload("compact renderer", combo.getLitRenderer(), 98);
+  }
+
+  @Test
+  public void testCompactLocaleRendererPayloadWithoutFlags() throws ReflectiveOperationException {
+    combo.setCompactRendering(true);
+    combo.setHasFlags(false);
+    assertPayload("compact renderer without flags", combo.getLitRenderer(), 95);
+  }
+
+  @Test
+  public void testClientSideLocaleRendererPayload() throws ReflectiveOperationException {
+    combo.setClientSideNames(true);
+    assertPayload("client-side renderer", combo.getLitRenderer(), 120);
+  }
+
+  @Test
+  public void testClientSideLocaleRendererPayloadWithoutFlags()
+      throws ReflectiveOperationException {
+    combo.setClientSideNames(true);
+    combo.setHasFlags(false);
+    assertPayload("client-side renderer without flags", combo.getLitRenderer(), 115);
+  }
+}
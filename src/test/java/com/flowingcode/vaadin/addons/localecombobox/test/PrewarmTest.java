@@ -0,0 +1,63 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleDisplayNameCache.PrewarmStatistics;
+import java.util.List;
+import java.util.Locale;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrewarmTest {
+
+  private static final List<Locale> ITEMS = List.of(Locale.ITALY, Locale.US, Locale.GERMANY);
+
+  private static final List<Locale> DISPLAY_LOCALES =
+      List.of(Locale.ENGLISH, Locale.FRENCH, Locale.JAPANESE, Locale.ENGLISH);
+
+  @Before
+  public void setup() {
+    LocaleDisplayNameCache.clear();
+  }
+
+  @Test
+  public void testPrewarmFillsCache() {
+    PrewarmStatistics statistics = LocaleComboBox.prewarm(ITEMS, DISPLAY_LOCALES).join();
+    Assert.assertEquals(9, statistics.names());
+    Assert.assertEquals(9, statistics.computed());
+    Assert.assertEquals(9, LocaleDisplayNameCache.size());
+
+    long misses = LocaleDisplayNameCache.getMissCount();
+    Assert.assertEquals(Locale.ITALY.getDisplayName(Locale.FRENCH),
+        LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.FRENCH));
+    Assert.assertEquals(misses, LocaleDisplayNameCache.getMissCount());
+  }
+
+  @Test
+  public void testPrewarmSkipsCachedNames() {
+    LocaleDisplayNameCache.getDisplayName(Locale.ITALY, Locale.ENGLISH);
+    PrewarmStatistics statistics = LocaleComboBox.prewarm(ITEMS, List.of(Locale.ENGLISH)).join();
+    Assert.assertEquals(3, statistics.names());
+    Assert.assertEquals(2, statistics.computed());
+  }
+}
@@ -0,0 +1,112 @@
+/*-
+ * #%L
+ * LocaleComboBox Add-on
+ * %%
+ * Copyright (C) 2024 Flowing Code
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package com.flowingcode.vaadin.addons.localecombobox.test;
+
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
+import com.vaadin.flow.component.UI;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Checks that the templates of the renderers only use item properties that are sent to the client.
+ * Lit renderers only send the properties registered with {@code withProperty}, so any other
+ * {@code item.X} is undefined in the browser.
+ */
+public class RendererTemplateTest {
+
+  private static final Pattern ITEM_PROPERTY = Pattern.compile("\\bitem\\.(\\w+)");
+
+  private CapturingLocaleComboBox combo;
+
+  @Before
+  public void setup() {
+    UI ui = new UI();
+    ui.setLocale(Locale.ENGLISH);
+    UI.setCurrent(ui);
+    combo = new CapturingLocaleComboBox(List.of(Locale.GERMANY, Locale.JAPAN, Locale.ITALY));
+    ui.add(combo);
+  }
+
+  @After
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  private void assertItemPropertiesAreRegistered() throws ReflectiveOperationException {
+    String template = combo.getTemplateExpression();
+    Matcher matcher = ITEM_PROPERTY.matcher(template);
+    int count = 0;
+    while (matcher.find()) {
+      String property = matcher.group(1);
+      Assert.assertTrue("item." + property + " is not a property of the renderer: " + template,
+          combo.getLitRenderer().getValueProviders().containsKey(property));
+      count++;
+    }
+    Assert.assertTrue(count > 0);
+  }
+
+  @Test
+  public void testLocaleRenderer() throws ReflectiveOperationException {
+    assertItemPropertiesAreRegistered();
+  }
+
+  @Test
+  public void testCompactLocaleRenderer() throws ReflectiveOperationException {
+    combo.setCompactRendering(true);
+    assertItemPropertiesAreRegistered();
+    Assert.assertTrue(combo.getTemplateExpression()
+        .contains("aria-label=\"${window.fcLocaleComboBox.regionName(item.code, 'en')}\""));
+
+    // the country names of the flags follow the display locale
+    UI.getCurrent().setLocale(Locale.GERMAN);
+    Assert.assertTrue(combo.getTemplateExpression().contains("regionName(item.code, 'de')"));
+  }
+
+  @Test
+  public void testClientSideLocaleRenderer() throws ReflectiveOperationException {
+    combo.setClientSideNames(true);
+    assertItemPropertiesAreRegistered();
+    Assert.assertTrue(combo.getTemplateExpression().contains("'en' || item.tag"));
+    Assert.assertEquals("German (Germany)",
+        combo.getLitRenderer().getValueProviders().get("label").apply(Locale.GERMANY));
+  }
+
+  @Test
+  public void testClientSideLocaleRendererInNativeMode() throws ReflectiveOperationException {
+    combo.setClientSideNames(true);
+    combo.setDisplayMode(DisplayMode.NATIVE);
+    assertItemPropertiesAreRegistered();
+    // without a display locale, each item is named in its own language
+    Assert.assertTrue(combo.getTemplateExpression()
+        .contains("displayName(item.tag, '' || item.tag, item.label)"));
+    Assert.assertTrue(combo.getTemplateExpression()
+        .contains("regionName(item.code, '' || item.tag)"));
+    for (Locale locale : List.of(Locale.GERMANY, Locale.JAPAN)) {
+      Assert.assertEquals(locale.getDisplayName(locale),
+          combo.getLitRenderer().getValueProviders().get("label").apply(locale));
+    }
+  }
+}
@@ -19,28 +19,46 @@
  */
 package com.flowingcode.vaadin.addons.localecombobox.test;
 
+import com.flowingcode.vaadin.addons.localecombobox.LocaleCatalog;
 import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox;
+import com.flowingcode.vaadin.addons.localecombobox.LocaleComboBox.DisplayMode;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class SerializationTest {
 
-  private void testSerializationOf(Object obj) throws IOException, ClassNotFoundException {
+  private static byte[] serialize(Object obj) throws IOException {
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     try (ObjectOutputStream oos = new ObjectOutputStream(baos)) {
       oos.writeObject(obj);
     }
-    try (ObjectInputStream in =
-        new ObjectInputStream(new ByteArrayInputStream(baos.toByteArray()))) {
-      obj.getClass().cast(in.readObject());
+    return baos.toByteArray();
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> T deserialize(byte[] bytes, T obj) throws IOException, ClassNotFoundException {
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+      return (T) obj.getClass().cast(in.readObject());
     }
   }
 
+  private void testSerializationOf(Object obj) throws IOException, ClassNotFoundException {
+    deserialize(serialize(obj), obj);
+  }
+
+  private static LocaleCatalog createCatalog() {
+    return LocaleCatalog.of(Arrays.stream(Locale.getAvailableLocales())
+        .filter(loc -> !loc.getLanguage().isEmpty()).toList());
+  }
+
   @Test
   public void testSerialization() throws ClassNotFoundException, IOException {
     try {
@@ -49,4 +67,66 @@ public class SerializationTest {
       Assert.fail("Problem while testing serialization: " + e.getMessage());
     }
   }
+
+  @Test
+  public void testCatalogRoundTrip() throws ClassNotFoundException, IOException {
+    LocaleCatalog catalog = createCatalog();
+    LocaleCatalog copy = deserialize(serialize(catalog), catalog);
+    Assert.assertEquals(catalog.getLocales(), copy.getLocales());
+  }
+
+  @Test
+  public void testConfigurationRoundTrip() throws ClassNotFoundException, IOException {
+    LocaleComboBox combo = new LocaleComboBox(createCatalog());
+    combo.setDisplayMode(DisplayMode.CUSTOM);
+    combo.setDisplayLocale(Locale.GERMANY);
+    combo.setHasFlags(false);
+    combo.setValue(Locale.ITALY);
+
+    LocaleComboBox copy = deserialize(serialize(combo), combo);
+    Assert.assertFalse(copy.hasFlags());
+    Assert.assertEquals(Locale.ITALY, copy.getValue());
+    Assert.assertEquals(combo.getCatalog().getLocales(), copy.getCatalog().getLocales());
+    Assert.assertEquals("Italienisch (Italien)", copy.getItemLabelGenerator().apply(Locale.ITALY));
+  }
+
+  @Test
+  public void testSerializedSizeOfItems() throws IOException {
+    LocaleCatalog catalog = createCatalog();
+    int empty = serialize(new LocaleComboBox()).length;
+    int withItems = serialize(new LocaleComboBox(catalog)).length;
+
+    // items are written as language tags, i.e. a few bytes per locale
+    int maximum = catalog.size() * 24;
+    Assert.assertTrue("Expected at most " + maximum + " bytes for " + catalog.size()
+        + " items, but measured " + (withItems - empty), withItems - empty <= maximum);
+  }
+
+  @Test
+  public void testSharedCatalogIsResolved() throws ClassNotFoundException, IOException {
+    // the first live catalog with the same locales is the one that copies are resolved to
+    LocaleCatalog shared = LocaleCatalog.of(List.of(Locale.ITALY, Locale.JAPAN, Locale.CANADA));
+    LocaleComboBox combo = new LocaleComboBox(shared);
+
+    LocaleComboBox copy = deserialize(serialize(combo), combo);
+    Assert.assertSame(shared, copy.getCatalog());
+  }
+
+  @Test
+  public void testAvailableLocalesAreWrittenByReference()
+      throws ClassNotFoundException, IOException {
+    LocaleCatalog shared = LocaleCatalog.ofAvailableLocales();
+    LocaleComboBox combo = new LocaleComboBox(shared);
+    byte[] bytes = serialize(combo);
+
+    // neither the catalog nor the items are written as locales
+    int empty = serialize(new LocaleComboBox()).length;
+    Assert.assertTrue("Measured " + (bytes.length - empty) + " bytes for the items",
+        bytes.length - empty <= 2048);
+
+    LocaleComboBox copy = deserialize(bytes, combo);
+    Assert.assertSame(shared, copy.getCatalog());
+    Assert.assertSame(shared.sortedByNativeName(),
+        deserialize(serialize(shared.sortedByNativeName()), shared));
+  }
 }